@@ -0,0 +1,137 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.benchmarks;
+
+import net.adeptropolis.frogspawn.ClusteringSettings;
+import net.adeptropolis.frogspawn.clustering.Cluster;
+import net.adeptropolis.frogspawn.clustering.RecursiveClustering;
+import net.adeptropolis.frogspawn.clustering.affiliation.AffiliationGuard;
+import net.adeptropolis.frogspawn.clustering.postprocessing.Postprocessing;
+import net.adeptropolis.frogspawn.clustering.postprocessing.SingletonMode;
+import net.adeptropolis.frogspawn.digest.ClusterDigester;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the clustering-specific stages: Affiliation guards, postprocessing and digestion
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClusteringBenchmarks {
+
+  private static final ClusteringSettings SETTINGS = ClusteringSettings.builder()
+          .randomSeed(SyntheticGraphs.SEED)
+          .build();
+
+  /**
+   * Settings disabling every optional postprocessor. Used to obtain raw cluster trees
+   */
+  private static final ClusteringSettings RAW_SETTINGS = ClusteringSettings.builder()
+          .randomSeed(SyntheticGraphs.SEED)
+          .minParentSimilarity(0)
+          .maxParentSimilarity(1)
+          .singletonMode(SingletonMode.NONE)
+          .build();
+
+  @Benchmark
+  public Graph affiliationGuard(GraphState state) {
+    AffiliationGuard guard = new AffiliationGuard(SETTINGS.getAffiliationMetric(), state.graph,
+            SETTINGS.getMinClusterSize(), SETTINGS.getMinAffiliation());
+    return guard.ensure(new Cluster(state.graph), state.candidate);
+  }
+
+  @Benchmark
+  public Cluster postprocessing(RawClusteringState state) {
+    return Postprocessing.apply(state.root, SETTINGS);
+  }
+
+  @Benchmark
+  public void digest(ClusteringState state, Blackhole blackhole) {
+    state.root.traverse(cluster -> blackhole.consume(state.digester.digest(cluster)));
+  }
+
+  /**
+   * A synthetic graph together with a subgraph candidate for the affiliation guard
+   */
+
+  @State(Scope.Benchmark)
+  public static class GraphState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    long edges;
+
+    Graph graph;
+    Graph candidate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      graph = SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED);
+      candidate = graph.subgraph(i -> i < graph.order() / 2);
+    }
+
+  }
+
+  /**
+   * Unprocessed cluster tree. Postprocessing modifies the tree in-place, so it needs to be recreated for every invocation.
+   */
+
+  @State(Scope.Benchmark)
+  public static class RawClusteringState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    long edges;
+
+    Graph graph;
+    Cluster root;
+
+    @Setup(Level.Trial)
+    public void setupGraph() {
+      graph = SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupClusters() {
+      root = RecursiveClustering.run(graph, RAW_SETTINGS);
+    }
+
+  }
+
+  /**
+   * Fully processed cluster tree
+   */
+
+  @State(Scope.Benchmark)
+  public static class ClusteringState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    long edges;
+
+    Cluster root;
+    ClusterDigester digester;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      Graph graph = SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED);
+      root = RecursiveClustering.run(graph, SETTINGS);
+      digester = new ClusterDigester(SETTINGS);
+    }
+
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.benchmarks;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.algorithms.ConnectedComponents;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import net.adeptropolis.frogspawn.graphs.implementations.WeightStorage;
+import net.adeptropolis.frogspawn.graphs.matrices.AdjacencyMatrix;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the basic graph operations: Building, subgraph creation, parallel traversal, matrix-vector
+ * multiplication (on raw and compressed edges as well as different weight storages) and connected components
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphBenchmarks {
+
+  @Benchmark
+  public SparseGraph build(EdgeListState state) {
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    for (int i = 0; i < state.u.length; i++) {
+      builder.add(state.u[i], state.v[i], state.weights[i]);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public Graph subgraph(GraphState state) {
+    return state.graph.subgraph(i -> (i & 1) == 0);
+  }
+
+  @Benchmark
+  public Graph subgraphOfSubgraph(GraphState state) {
+    return state.subgraph.subgraph(i -> (i & 1) == 0);
+  }
+
+  @Benchmark
+  public double[] multiply(GraphState state) {
+    return state.adjacencyMatrix.multiply(state.vector);
+  }
+
+  @Benchmark
+  public double[] multiplyByTraversal(GraphState state) {
+    double[] result = new double[state.graph.order()];
+    state.graph.traverseParallel((u, v, weight) -> result[u] += weight * state.vector[v]);
+    return result;
+  }
+
+  @Benchmark
+  public double[] multiplySubgraph(GraphState state) {
+    return state.subgraphAdjacencyMatrix.multiply(state.subgraphVector);
+  }
+
+  @Benchmark
+  public double[] multiplyCompressed(GraphState state) {
+    return state.compressedAdjacencyMatrix.multiply(state.vector);
+  }
+
+  @Benchmark
+  public double[] multiplyCompressedSubgraph(GraphState state) {
+    return state.compressedSubgraphAdjacencyMatrix.multiply(state.subgraphVector);
+  }
+
+  @Benchmark
+  public double[] multiplyWithWeightStorage(WeightStorageState state) {
+    return state.adjacencyMatrix.multiply(state.vector);
+  }
+
+  @Benchmark
+  public double[] traverseSliced(GraphState state) {
+    return vertexSums(state.graph, TraversalStrategy.SLICED);
+  }
+
+  @Benchmark
+  public double[] traverseWorkStealing(GraphState state) {
+    return vertexSums(state.graph, TraversalStrategy.WORK_STEALING);
+  }
+
+  @Benchmark
+  public void connectedComponents(GraphState state, Blackhole blackhole) {
+    ConnectedComponents.find(state.subgraph, blackhole::consume);
+  }
+
+  private static double[] vertexSums(Graph graph, TraversalStrategy strategy) {
+    double[] sums = new double[graph.order()];
+    graph.traverseParallel((u, v, weight) -> sums[u] += weight, TraversalMode.DEFAULT, strategy);
+    return sums;
+  }
+
+  /**
+   * Raw edges, recorded once per trial
+   */
+
+  @State(Scope.Benchmark)
+  public static class EdgeListState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    int edges;
+
+    int[] u;
+    int[] v;
+    double[] weights;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      u = new int[edges];
+      v = new int[edges];
+      weights = new double[edges];
+      int[] ptr = new int[1];
+      SyntheticGraphs.generate(new Graph.Builder() {
+        @Override
+        public Graph.Builder add(int left, int right, double weight) {
+          u[ptr[0]] = left;
+          v[ptr[0]] = right;
+          weights[ptr[0]++] = weight;
+          return this;
+        }
+
+        @Override
+        public Graph.Builder addDirected(int left, int right, double weight) {
+          return add(left, right, weight);
+        }
+
+        @Override
+        public Graph build() {
+          return null;
+        }
+      }, model, edges, SyntheticGraphs.SEED);
+    }
+
+  }
+
+  /**
+   * Prebuilt matrices using a given weight storage
+   */
+
+  @State(Scope.Benchmark)
+  public static class WeightStorageState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"1000000"})
+    long edges;
+
+    @Param({"DOUBLE", "FLOAT", "QUANTIZED", "UNIT"})
+    WeightStorage weightStorage;
+
+    AdjacencyMatrix adjacencyMatrix;
+    double[] vector;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      SparseGraph graph = SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED).withWeightStorage(weightStorage);
+      adjacencyMatrix = new AdjacencyMatrix(graph);
+      vector = GraphState.randomVector(graph.order());
+    }
+
+  }
+
+  /**
+   * Prebuilt graphs, matrices and vectors
+   */
+
+  @State(Scope.Benchmark)
+  public static class GraphState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    long edges;
+
+    SparseGraph graph;
+    Graph subgraph;
+    AdjacencyMatrix adjacencyMatrix;
+    AdjacencyMatrix subgraphAdjacencyMatrix;
+    AdjacencyMatrix compressedAdjacencyMatrix;
+    AdjacencyMatrix compressedSubgraphAdjacencyMatrix;
+    double[] vector;
+    double[] subgraphVector;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      graph = SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED);
+      subgraph = graph.subgraph(i -> i % 3 != 0);
+      adjacencyMatrix = new AdjacencyMatrix(graph);
+      subgraphAdjacencyMatrix = new AdjacencyMatrix(subgraph);
+      SparseGraph compressed = graph.compressed();
+      compressedAdjacencyMatrix = new AdjacencyMatrix(compressed);
+      compressedSubgraphAdjacencyMatrix = new AdjacencyMatrix(compressed.subgraph(i -> i % 3 != 0));
+      vector = randomVector(graph.order());
+      subgraphVector = randomVector(subgraph.order());
+    }
+
+    private static double[] randomVector(int size) {
+      Random random = new Random(SyntheticGraphs.SEED);
+      double[] vec = new double[size];
+      for (int i = 0; i < size; i++) {
+        vec[i] = random.nextDouble();
+      }
+      return vec;
+    }
+
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.benchmarks;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.ConstantSigTrailConvergence;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.FusedPowerIteration;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.LanczosIteration;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.MomentumPowerIteration;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.PowerIteration;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.PowerIterationException;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.RandomInitialVectorsSource;
+import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the eigensolver stage of the spectral bisection
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpectralBenchmarks {
+
+  private static final int TRAIL_SIZE = 20;
+  private static final double CONVERGENCE_THRESHOLD = 0.95;
+  private static final int MAX_ITERATIONS = 540;
+  private static final int LANCZOS_BASIS_SIZE = 20;
+  private static final double MOMENTUM = 0.95;
+
+  @Benchmark
+  public double[] powerIteration(ComponentState state) throws PowerIterationException {
+    ShiftedNormalizedLaplacian ssnl = new ShiftedNormalizedLaplacian(state.component);
+    ConstantSigTrailConvergence convergence = new ConstantSigTrailConvergence(state.component, TRAIL_SIZE, CONVERGENCE_THRESHOLD);
+    double[] iv = new RandomInitialVectorsSource(SyntheticGraphs.SEED).generate(state.component.order());
+    return PowerIteration.apply(ssnl, convergence, iv, MAX_ITERATIONS, false);
+  }
+
+  @Benchmark
+  public double[] fusedPowerIteration(ComponentState state) throws PowerIterationException {
+    ShiftedNormalizedLaplacian ssnl = new ShiftedNormalizedLaplacian(state.component);
+    ConstantSigTrailConvergence convergence = new ConstantSigTrailConvergence(state.component, TRAIL_SIZE, CONVERGENCE_THRESHOLD);
+    double[] iv = new RandomInitialVectorsSource(SyntheticGraphs.SEED).generate(state.component.order());
+    return FusedPowerIteration.apply(ssnl, convergence, iv, MAX_ITERATIONS);
+  }
+
+  @Benchmark
+  public double[] momentumPowerIteration(ComponentState state) throws PowerIterationException {
+    ShiftedNormalizedLaplacian ssnl = new ShiftedNormalizedLaplacian(state.component);
+    ConstantSigTrailConvergence convergence = new ConstantSigTrailConvergence(state.component, TRAIL_SIZE, CONVERGENCE_THRESHOLD);
+    double[] iv = new RandomInitialVectorsSource(SyntheticGraphs.SEED).generate(state.component.order());
+    return MomentumPowerIteration.apply(ssnl, convergence, iv, MAX_ITERATIONS, MOMENTUM);
+  }
+
+  @Benchmark
+  public double[] lanczosIteration(ComponentState state) throws PowerIterationException {
+    ShiftedNormalizedLaplacian ssnl = new ShiftedNormalizedLaplacian(state.component);
+    ConstantSigTrailConvergence convergence = new ConstantSigTrailConvergence(state.component, TRAIL_SIZE, CONVERGENCE_THRESHOLD);
+    double[] iv = new RandomInitialVectorsSource(SyntheticGraphs.SEED).generate(state.component.order());
+    return LanczosIteration.apply(ssnl, convergence, iv, MAX_ITERATIONS, LANCZOS_BASIS_SIZE);
+  }
+
+  /**
+   * Largest connected component of a synthetic graph
+   */
+
+  @State(Scope.Benchmark)
+  public static class ComponentState {
+
+    @Param({"PLANTED_PARTITION", "POWER_LAW"})
+    SyntheticGraphs.Model model;
+
+    @Param({"10000", "1000000"})
+    long edges;
+
+    Graph component;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      component = SyntheticGraphs.largestComponent(SyntheticGraphs.generate(model, edges, SyntheticGraphs.SEED));
+    }
+
+  }
+
+}
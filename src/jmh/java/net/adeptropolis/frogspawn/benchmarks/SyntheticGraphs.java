@@ -0,0 +1,170 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.benchmarks;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.algorithms.ConnectedComponents;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+
+import java.util.Random;
+
+/**
+ * <p>Generators for reproducible synthetic benchmark graphs</p>
+ * <p>All generators are fully determined by their arguments, i.e. using the same seed will always yield
+ * the very same graph.</p>
+ */
+
+public class SyntheticGraphs {
+
+  /**
+   * Default seed used throughout all benchmarks
+   */
+  public static final long SEED = 1337421L;
+
+  /**
+   * Average (undirected) vertex degree of all generated graphs
+   */
+  public static final int AVG_DEGREE = 20;
+
+  private SyntheticGraphs() {
+  }
+
+  /**
+   * Available graph models
+   */
+
+  public enum Model {
+
+    /**
+     * Planted partition model with dense blocks and sparse noise between them
+     */
+
+    PLANTED_PARTITION,
+
+    /**
+     * Chung-Lu-like model with a power-law degree distribution
+     */
+
+    POWER_LAW
+
+  }
+
+  /**
+   * Generate a new graph
+   *
+   * @param model Graph model
+   * @param edges Number of undirected edges to be generated (before aggregating duplicates)
+   * @param seed  Random seed
+   * @return New graph
+   */
+
+  public static SparseGraph generate(Model model, long edges, long seed) {
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    generate(builder, model, edges, seed);
+    return builder.build();
+  }
+
+  /**
+   * Feed the edges of a new graph into a builder
+   *
+   * @param builder Graph builder
+   * @param model   Graph model
+   * @param edges   Number of undirected edges to be generated (before aggregating duplicates)
+   * @param seed    Random seed
+   */
+
+  public static void generate(Graph.Builder builder, Model model, long edges, long seed) {
+    if (model == Model.PLANTED_PARTITION) {
+      plantedPartition(builder, edges, seed);
+    } else {
+      powerLaw(builder, edges, seed);
+    }
+  }
+
+  /**
+   * Planted partition graph with <code>√n</code> blocks, 90% of all edges falling inside of blocks
+   *
+   * @param builder Graph builder
+   * @param edges   Number of undirected edges
+   * @param seed    Random seed
+   */
+
+  private static void plantedPartition(Graph.Builder builder, long edges, long seed) {
+    Random random = new Random(seed);
+    int order = order(edges);
+    int blocks = Math.max(2, (int) Math.sqrt(order));
+    int blockSize = Math.max(1, order / blocks);
+    for (long i = 0; i < edges; i++) {
+      int u = random.nextInt(order);
+      int v;
+      if (random.nextDouble() < 0.9) {
+        int blockStart = Math.min(u - u % blockSize, order - blockSize);
+        v = blockStart + random.nextInt(blockSize);
+      } else {
+        v = random.nextInt(order);
+      }
+      builder.add(u, v, 1 + random.nextInt(10));
+    }
+  }
+
+  /**
+   * Graph with a power-law degree distribution
+   *
+   * @param builder Graph builder
+   * @param edges   Number of undirected edges
+   * @param seed    Random seed
+   */
+
+  private static void powerLaw(Graph.Builder builder, long edges, long seed) {
+    Random random = new Random(seed);
+    int order = order(edges);
+    for (long i = 0; i < edges; i++) {
+      int u = skewed(random, order);
+      int v = skewed(random, order);
+      builder.add(u, v, 1 + random.nextInt(10));
+    }
+  }
+
+  /**
+   * Sample a vertex id such that low ids are strongly preferred
+   *
+   * @param random Random source
+   * @param order  Graph order
+   * @return Vertex id
+   */
+
+  private static int skewed(Random random, int order) {
+    return Math.min(order - 1, (int) (order * Math.pow(random.nextDouble(), 3)));
+  }
+
+  /**
+   * @param edges Number of edges
+   * @return Graph order for a given number of edges such that the average degree equals <code>AVG_DEGREE</code>
+   */
+
+  private static int order(long edges) {
+    return (int) Math.max(16, 2 * edges / AVG_DEGREE);
+  }
+
+  /**
+   * Extract the largest connected component of a graph
+   *
+   * @param graph A graph
+   * @return Its largest connected component
+   */
+
+  public static Graph largestComponent(Graph graph) {
+    Graph[] largest = new Graph[1];
+    ConnectedComponents.find(graph, component -> {
+      if (largest[0] == null || component.order() > largest[0].order()) {
+        largest[0] = component;
+      }
+    });
+    return largest[0];
+  }
+
+}
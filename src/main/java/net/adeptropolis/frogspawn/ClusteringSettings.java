@@ -11,8 +11,10 @@ import net.adeptropolis.frogspawn.clustering.affiliation.DefaultAffiliationMetri
 import net.adeptropolis.frogspawn.clustering.postprocessing.Postprocessor;
 import net.adeptropolis.frogspawn.clustering.postprocessing.SingletonMode;
 import net.adeptropolis.frogspawn.digest.DigestRanking;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.EigenSolver;
 import net.adeptropolis.frogspawn.graphs.similarity.GraphSimilarityMetric;
 import net.adeptropolis.frogspawn.graphs.similarity.NormalizedCutMetric;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +46,28 @@ public class ClusteringSettings {
   private final long randomSeed = 42133742L;
   @Builder.Default
   private final int maxIterations = 540;
+  @Builder.Default
+  private final EigenSolver eigenSolver = EigenSolver.POWER_ITERATION;
+  @Builder.Default
+  private final int lanczosBasisSize = 20;
+  @Builder.Default
+  private final double momentum = 0.95;
+  @Builder.Default
+  private final int coarseningThreshold = Integer.MAX_VALUE;
+  @Builder.Default
+  private final int refinementTrailSize = 5;
+  @Builder.Default
+  private final boolean warmStart = false;
+
+  // Parallelism
+  @Builder.Default
+  private final TraversalExecutor traversalExecutor = TraversalExecutor.shared();
+  @Builder.Default
+  private final long materializationThreshold = Long.MAX_VALUE;
+  @Builder.Default
+  private final boolean parallelRecursion = false;
+  @Builder.Default
+  private final long minParallelTraversalSize = 50_000L;
 
   // Postprocessing
   @Builder.Default
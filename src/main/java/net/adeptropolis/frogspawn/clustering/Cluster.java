@@ -13,7 +13,9 @@ import net.adeptropolis.frogspawn.graphs.labeled.labelings.Labeling;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -39,7 +41,7 @@ public class Cluster implements Comparable<Cluster>, Serializable {
   private static final long HASH_MOD_PRIME = 2147483647L;
 
   private final SortedSet<Cluster> children;
-  private final int id;
+  private int id;
   private final Root root;
   private Cluster parent;
   private IntArrayList remainder;
@@ -318,6 +320,31 @@ public class Cluster implements Comparable<Cluster>, Serializable {
     return id;
   }
 
+  /**
+   * Assign new ids to this cluster and all of its descendants in breadth-first order. Children retain their order, so
+   * that all ids only depend on the structure of the hierarchy and not on the order in which its clusters had been
+   * created. Must not be called while the hierarchy is being modified.
+   */
+
+  void renumber() {
+    List<Cluster> clusters = new ArrayList<>();
+    clusters.add(this);
+    for (int i = 0; i < clusters.size(); i++) {
+      clusters.addAll(clusters.get(i).children);
+    }
+    List<List<Cluster>> childLists = new ArrayList<>(clusters.size());
+    for (Cluster cluster : clusters) {
+      childLists.add(new ArrayList<>(cluster.children));
+      cluster.children.clear();
+    }
+    for (Cluster cluster : clusters) {
+      cluster.id = CURR_ID.getAndIncrement();
+    }
+    for (int i = 0; i < clusters.size(); i++) {
+      clusters.get(i).children.addAll(childLists.get(i));
+    }
+  }
+
   /**
    * This compare is just here for stable sorting in the tree map
    *
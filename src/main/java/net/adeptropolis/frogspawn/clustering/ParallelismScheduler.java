@@ -0,0 +1,170 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.clustering;
+
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>Decides between intra- and inter-task parallelism for protoclusters being processed as fork/join tasks</p>
+ * <p>Large graphs benefit from parallel traversals, whereas the synchronization overhead of parallel traversals
+ * dominates for small graphs. These are better off being processed single-threaded alongside other protoclusters.
+ * Protoclusters with fewer than <code>minParallelTraversalSize</code> edges are therefore always being processed
+ * sequentially. Larger ones use parallel traversals unless there are already as many pending protoclusters as
+ * threads available.</p>
+ * <p>Fork/join workers and parallel traversals share a single thread budget of <code>parallelism</code> threads:
+ * Sequentially processed protoclusters occupy one thread of the budget, whereas protoclusters processed with parallel
+ * traversals occupy all of them (see {@link #process(long, Supplier)}). Hence, there are never more busy threads
+ * than the executor's parallelism, regardless of how many fork/join workers are waiting for their turn.</p>
+ * <p>All decisions are being recorded and may be queried using the metric getters.</p>
+ */
+
+public class ParallelismScheduler {
+
+  private final TraversalExecutor parallelExecutor;
+  private final long minParallelTraversalSize;
+  private final Semaphore threadBudget;
+  private final AtomicInteger pending;
+  private final AtomicInteger maxPending;
+  private final AtomicLong parallelTasks;
+  private final AtomicLong parallelEdges;
+  private final AtomicLong sequentialTasks;
+  private final AtomicLong sequentialEdges;
+
+  /**
+   * Constructor
+   *
+   * @param parallelExecutor         Executor for parallel traversals. Its parallelism is also taken as the number of
+   *                                 threads available for processing protoclusters
+   * @param minParallelTraversalSize Minimum number of edges for protoclusters to be processed with parallel traversals
+   */
+
+  ParallelismScheduler(TraversalExecutor parallelExecutor, long minParallelTraversalSize) {
+    this.parallelExecutor = parallelExecutor;
+    this.minParallelTraversalSize = minParallelTraversalSize;
+    this.threadBudget = new Semaphore(parallelExecutor.parallelism(), true);
+    this.pending = new AtomicInteger();
+    this.maxPending = new AtomicInteger();
+    this.parallelTasks = new AtomicLong();
+    this.parallelEdges = new AtomicLong();
+    this.sequentialTasks = new AtomicLong();
+    this.sequentialEdges = new AtomicLong();
+  }
+
+  /**
+   * Register new protoclusters awaiting processing
+   *
+   * @param count Number of protoclusters
+   */
+
+  void submitted(int count) {
+    int current = pending.addAndGet(count);
+    maxPending.accumulateAndGet(current, Math::max);
+  }
+
+  /**
+   * Register a protocluster whose processing has finished
+   */
+
+  void completed() {
+    pending.decrementAndGet();
+  }
+
+  /**
+   * Decide how to process a protocluster
+   *
+   * @param size Number of edges of the protocluster's graph. Needs to be known in advance, as counting the edges of a
+   *             subgraph would require a parallel traversal outside of the thread budget.
+   * @return Executor for all graph operations of the protocluster
+   */
+
+  TraversalExecutor schedule(long size) {
+    if (size >= minParallelTraversalSize && pending.get() < parallelExecutor.parallelism()) {
+      parallelTasks.incrementAndGet();
+      parallelEdges.addAndGet(size);
+      return parallelExecutor;
+    }
+    sequentialTasks.incrementAndGet();
+    sequentialEdges.addAndGet(size);
+    return TraversalExecutor.sequential();
+  }
+
+  /**
+   * Process a protocluster on the executor chosen by {@link #schedule(long)}. Blocks until the required number
+   * of threads is available within the thread budget.
+   *
+   * @param size Number of edges of the protocluster's graph
+   * @param task Task processing the protocluster
+   * @param <T>  Result type
+   * @return Result of the task
+   */
+
+  <T> T process(long size, Supplier<T> task) {
+    TraversalExecutor executor = schedule(size);
+    int threads = Math.min(executor.parallelism(), parallelExecutor.parallelism());
+    threadBudget.acquireUninterruptibly(threads);
+    try {
+      return executor.call(task);
+    } finally {
+      threadBudget.release(threads);
+    }
+  }
+
+  /**
+   * @return Number of protoclusters processed with parallel traversals
+   */
+
+  public long getParallelTasks() {
+    return parallelTasks.get();
+  }
+
+  /**
+   * @return Total number of edges of all protoclusters processed with parallel traversals
+   */
+
+  public long getParallelEdges() {
+    return parallelEdges.get();
+  }
+
+  /**
+   * @return Number of protoclusters processed sequentially
+   */
+
+  public long getSequentialTasks() {
+    return sequentialTasks.get();
+  }
+
+  /**
+   * @return Total number of edges of all protoclusters processed sequentially
+   */
+
+  public long getSequentialEdges() {
+    return sequentialEdges.get();
+  }
+
+  /**
+   * @return Maximum number of protoclusters that had been pending at the same time
+   */
+
+  public int getMaxPending() {
+    return maxPending.get();
+  }
+
+  /**
+   * @return A string representation of all metrics
+   */
+
+  @Override
+  public String toString() {
+    return String.format("ParallelismScheduler(parallel=%d tasks/%d edges, sequential=%d tasks/%d edges, maxPending=%d)",
+            getParallelTasks(), getParallelEdges(), getSequentialTasks(), getSequentialEdges(), getMaxPending());
+  }
+
+}
@@ -6,6 +6,7 @@
 package net.adeptropolis.frogspawn.clustering;
 
 import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.WarmStartVector;
 
 /**
  * Protocluster: A cluster candidate
@@ -14,6 +15,7 @@ import net.adeptropolis.frogspawn.graphs.Graph;
 public class Protocluster {
 
   private final Graph graph;
+  private final WarmStartVector warmStart;
   private Cluster cluster;
   private GraphType graphType;
 
@@ -26,9 +28,23 @@ public class Protocluster {
    */
 
   Protocluster(Graph graph, GraphType graphType, Cluster cluster) {
+    this(graph, graphType, cluster, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param graph     A graph, i.e. the cluster candidate
+   * @param graphType Type of the graph. Either <code>ROOT</code>, <code>COMPONENT</code> or <code>SPECTRAL</code>
+   * @param cluster   Parent cluster
+   * @param warmStart Eigenvector of the bisection this cluster candidate emerged from. May be <code>null</code>
+   */
+
+  Protocluster(Graph graph, GraphType graphType, Cluster cluster, WarmStartVector warmStart) {
     this.graph = graph;
     this.graphType = graphType;
     this.cluster = cluster;
+    this.warmStart = warmStart;
   }
 
   /**
@@ -39,6 +55,14 @@ public class Protocluster {
     return graph;
   }
 
+  /**
+   * @return Eigenvector of the bisection this cluster candidate emerged from or <code>null</code> if there is none
+   */
+
+  WarmStartVector getWarmStart() {
+    return warmStart;
+  }
+
   /**
    * @return Type of the cluster candidate graph
    */
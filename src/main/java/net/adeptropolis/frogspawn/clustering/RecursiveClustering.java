@@ -9,20 +9,32 @@ import net.adeptropolis.frogspawn.ClusteringSettings;
 import net.adeptropolis.frogspawn.clustering.affiliation.AffiliationGuard;
 import net.adeptropolis.frogspawn.clustering.postprocessing.Postprocessing;
 import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.VertexScratch;
 import net.adeptropolis.frogspawn.graphs.algorithms.ConnectedComponents;
 import net.adeptropolis.frogspawn.graphs.algorithms.SpectralBisector;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.PowerIterationException;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.RandomInitialVectorsSource;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.WarmStartVector;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * <p>Recursive clustering</p>
  * <p>Take a given graph and return a hierarchy of clusters</p>
+ * <p>By default, protoclusters are being processed one after another from a single queue and parallelism is confined
+ * to the graph operations of every step. Using <code>ClusteringSettings#parallelRecursion</code>, independent
+ * protoclusters are being processed concurrently as a tree of fork/join tasks instead. Each task draws its initial
+ * vectors from a random seed that only depends on its position in the task tree, and cluster ids are being reassigned
+ * after the run. Hence, the results are reproducible as well, albeit not identical to those of the sequential mode.</p>
  */
 
 public class RecursiveClustering {
@@ -33,6 +45,7 @@ public class RecursiveClustering {
   private final ClusteringSettings settings;
   private final SpectralBisector bisector;
   private final AffiliationGuard affiliationGuard;
+  private final ParallelismScheduler scheduler;
 
   // NOTE: By construction, this type of queue induces the top-town ordering required for determinism
   // and ensures the correct behaviour of vertex affiliation guards
@@ -52,26 +65,54 @@ public class RecursiveClustering {
     this.queue = new ConcurrentLinkedQueue<>();
     this.affiliationGuard = new AffiliationGuard(settings.getAffiliationMetric(),
             graph, settings.getMinClusterSize(), settings.getMinAffiliation());
+    this.scheduler = new ParallelismScheduler(settings.getTraversalExecutor(), settings.getMinParallelTraversalSize());
   }
 
+  /**
+   * Run the recursive clustering. All parallel graph operations are being run on the settings' traversal executor.
+   *
+   * @param graph    Input graph
+   * @param settings Clustering settings
+   * @return Root cluster of the generated cluster hierarchy
+   */
+
   public static Cluster run(Graph graph, ClusteringSettings settings) {
-    return new RecursiveClustering(graph, settings).run();
+    return settings.getTraversalExecutor().call(() -> new RecursiveClustering(graph, settings).run());
   }
 
   /**
-   * Run the recursive clustering
+   * Run the recursive clustering. Pooled vertex scratch space of the calling thread is being released afterwards.
    *
    * @return Root cluster of the generated cluster hierarchy
    */
 
   public Cluster run() {
+    try {
+      return runClustering();
+    } finally {
+      VertexScratch.releasePool();
+    }
+  }
+
+  /**
+   * Run the recursive clustering and postprocess the resulting cluster hierarchy
+   *
+   * @return Root cluster of the generated cluster hierarchy
+   */
+
+  private Cluster runClustering() {
     LOG.info("Starting recursive clustering of {} vertices using settings: {}", graph.order(), settings);
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
     Cluster root = new Cluster(graph);
     Protocluster initialProtocluster = new Protocluster(graph, Protocluster.GraphType.ROOT, root);
-    queue.add(initialProtocluster);
-    processQueue();
+    if (settings.isParallelRecursion()) {
+      processTaskTree(initialProtocluster);
+      root.renumber();
+    } else {
+      queue.add(initialProtocluster);
+      processQueue();
+    }
     stopWatch.stop();
     LOG.info("Finished clustering {} vertices after {}", graph.order(), stopWatch);
     return Postprocessing.apply(root, settings);
@@ -79,30 +120,69 @@ public class RecursiveClustering {
 
   /**
    * Process all elements of the recursive clustering task queue until it is exhausted.
-   * Depending on type of the protocluster, it is either decomposed into its connected components or subject to
-   * spectral bisection.
    */
 
   private void processQueue() {
     while (!queue.isEmpty()) {
-      Protocluster protocluster = queue.poll();
-      if (protocluster.getGraphType() == Protocluster.GraphType.COMPONENT) {
-        bisect(protocluster);
-      } else {
-        decomposeComponents(protocluster);
-      }
+      queue.addAll(process(queue.poll(), bisector));
+    }
+  }
+
+  /**
+   * Process all protoclusters as a tree of fork/join tasks. The fork/join pool and the parallel traversals of its tasks
+   * share the thread budget of the traversal executor (see {@link ParallelismScheduler}).
+   *
+   * @param protocluster The initial protocluster
+   */
+
+  private void processTaskTree(Protocluster protocluster) {
+    // Vertex weights of the root graph are being cached lazily and are required by all affiliation guards
+    graph.weights();
+    ForkJoinPool pool = new ForkJoinPool(settings.getTraversalExecutor().parallelism());
+    try {
+      long size = settings.getTraversalExecutor().call(protocluster.getGraph()::size);
+      scheduler.submitted(1);
+      pool.invoke(new ProtoclusterTask(protocluster, size, settings.getRandomSeed()));
+    } finally {
+      pool.shutdown();
+    }
+    LOG.info("Task tree scheduling: {}", scheduler);
+  }
+
+  /**
+   * Process a single protocluster. Depending on type of the protocluster, it is either decomposed into its connected
+   * components or subject to spectral bisection.
+   *
+   * @param protocluster A protocluster
+   * @param bisector     Spectral bisector to be used
+   * @return All resulting protoclusters that require further processing, in the order of their creation
+   */
+
+  private List<Protocluster> process(Protocluster protocluster, SpectralBisector bisector) {
+    List<Protocluster> successors = new ArrayList<>();
+    if (protocluster.getGraphType() == Protocluster.GraphType.COMPONENT) {
+      bisect(protocluster, bisector, successors);
+    } else {
+      decomposeComponents(protocluster, successors);
     }
+    return successors;
   }
 
   /**
    * Bisect the protocluster's graph such that the normalized cut is minimized.
    *
    * @param protocluster A protocluster
+   * @param bisector     Spectral bisector to be used
+   * @param successors   Sink for new protoclusters
    */
 
-  private void bisect(Protocluster protocluster) {
+  private void bisect(Protocluster protocluster, SpectralBisector bisector, List<Protocluster> successors) {
     try {
-      bisector.bisect(protocluster.getGraph(), partition -> processPartition(protocluster, partition));
+      List<Graph> partitions = new ArrayList<>(2);
+      WarmStartVector warmStart = bisector.bisect(protocluster.getGraph(), protocluster.getWarmStart(), partitions::add);
+      for (Graph partition : partitions) {
+        processPartition(protocluster, partition, warmStart, successors);
+      }
     } catch (PowerIterationException e) {
       if (protocluster.getGraph().size() >= settings.getMinClusterSize()) {
         addTerminalChild(protocluster, protocluster.getGraph());
@@ -123,19 +203,21 @@ public class RecursiveClustering {
    * </ol>
    *
    * @param protocluster A protocluster
+   * @param successors   Sink for new protoclusters
    */
 
-  private void decomposeComponents(Protocluster protocluster) {
+  private void decomposeComponents(Protocluster protocluster, List<Protocluster> successors) {
     ConnectedComponents.find(protocluster.getGraph(), component -> {
       if (component.order() == protocluster.getGraph().order()) {
         protocluster.setGraphTypeConnectedComponent();
-        queue.add(protocluster);
+        successors.add(protocluster);
       } else if (component.order() < settings.getMinClusterSize()) {
         protocluster.getCluster().addToRemainder(component);
       } else if (component.order() == settings.getMinClusterSize()) {
         addTerminalChild(protocluster, component);
       } else if (component.order() > settings.getMinClusterSize()) {
-        enqueueProtocluster(Protocluster.GraphType.COMPONENT, protocluster.getCluster(), component);
+        enqueueProtocluster(Protocluster.GraphType.COMPONENT, protocluster.getCluster(), component,
+                protocluster.getWarmStart(), successors);
       }
     });
   }
@@ -160,15 +242,18 @@ public class RecursiveClustering {
    *
    * @param protocluster Current protocluster
    * @param partition    Cluster candidate partition
+   * @param warmStart    Eigenvector of the bisection. May be <code>null</code>
+   * @param successors   Sink for new protoclusters
    */
 
-  private void processPartition(Protocluster protocluster, Graph partition) {
+  private void processPartition(Protocluster protocluster, Graph partition, WarmStartVector warmStart,
+                                List<Protocluster> successors) {
     if (partition.order() < settings.getMinClusterSize() || partition.order() == protocluster.getGraph().order()) {
       protocluster.getCluster().addToRemainder(partition);
     } else {
       Graph guaranteedAffiliationSubgraph = affiliationGuard.ensure(protocluster.getCluster(), partition);
       if (guaranteedAffiliationSubgraph != null) {
-        processGuaranteedAffiliationSubgraph(protocluster, guaranteedAffiliationSubgraph);
+        processGuaranteedAffiliationSubgraph(protocluster, guaranteedAffiliationSubgraph, warmStart, successors);
       }
     }
   }
@@ -186,17 +271,20 @@ public class RecursiveClustering {
   }
 
   /**
-   * Insert a new protocluster into the queue
+   * Create a new protocluster and pass it on for further processing
    *
-   * @param graphType Type of the graph for the new protocluster
-   * @param parent    Parent cluster
-   * @param subgraph  Protocluster graph
+   * @param graphType  Type of the graph for the new protocluster
+   * @param parent     Parent cluster
+   * @param subgraph   Protocluster graph
+   * @param warmStart  Eigenvector of the bisection the subgraph emerged from. May be <code>null</code>
+   * @param successors Sink for new protoclusters
    */
 
-  private void enqueueProtocluster(Protocluster.GraphType graphType, Cluster parent, Graph subgraph) {
+  private void enqueueProtocluster(Protocluster.GraphType graphType, Cluster parent, Graph subgraph,
+                                   WarmStartVector warmStart, List<Protocluster> successors) {
     Cluster childCluster = new Cluster(parent);
-    Protocluster protocluster = new Protocluster(subgraph, graphType, childCluster);
-    queue.add(protocluster);
+    Protocluster protocluster = new Protocluster(subgraph, graphType, childCluster, warmStart);
+    successors.add(protocluster);
   }
 
   /**
@@ -206,15 +294,88 @@ public class RecursiveClustering {
    *
    * @param protocluster                  Protocluster
    * @param guaranteedAffiliationSubgraph Subgraph whose vertices fulfil the min affiliation metric wrt. to the graph
+   * @param warmStart                     Eigenvector of the bisection. May be <code>null</code>
+   * @param successors                    Sink for new protoclusters
    */
 
-  private void processGuaranteedAffiliationSubgraph(Protocluster protocluster, Graph guaranteedAffiliationSubgraph) {
+  private void processGuaranteedAffiliationSubgraph(Protocluster protocluster, Graph guaranteedAffiliationSubgraph,
+                                                    WarmStartVector warmStart, List<Protocluster> successors) {
     if (guaranteedAffiliationSubgraph.size() > settings.getMinClusterSize()) {
-      enqueueProtocluster(Protocluster.GraphType.SPECTRAL, protocluster.getCluster(), guaranteedAffiliationSubgraph);
+      enqueueProtocluster(Protocluster.GraphType.SPECTRAL, protocluster.getCluster(), guaranteedAffiliationSubgraph,
+              warmStart, successors);
     } else {
       Validate.isTrue(guaranteedAffiliationSubgraph.size() == settings.getMinClusterSize());
       addTerminalChild(protocluster, guaranteedAffiliationSubgraph);
     }
   }
 
+  /**
+   * Fork/join task processing a protocluster and, recursively, all of its successors. Every task uses its own spectral
+   * bisector whose random seed is being derived from the parent task's seed and the position among its siblings. Whether
+   * the graph operations of a task are being parallelized is up to the {@link ParallelismScheduler}. Threads of the
+   * budget are only held while processing the protocluster itself and released before joining the successor tasks.
+   */
+
+  private class ProtoclusterTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 4371180725410522118L;
+
+    private final Protocluster protocluster;
+    private final long size;
+    private final long seed;
+
+    /**
+     * Constructor
+     *
+     * @param protocluster A protocluster
+     * @param size         Number of edges of the protocluster's graph
+     * @param seed         Random seed for this task
+     */
+
+    ProtoclusterTask(Protocluster protocluster, long size, long seed) {
+      this.protocluster = protocluster;
+      this.size = size;
+      this.seed = seed;
+    }
+
+    @Override
+    protected void compute() {
+      SpectralBisector taskBisector = new SpectralBisector(settings, new RandomInitialVectorsSource(seed));
+      List<ProtoclusterTask> tasks = scheduler.process(size, () -> successorTasks(process(protocluster, taskBisector)));
+      scheduler.submitted(tasks.size());
+      scheduler.completed();
+      invokeAll(tasks);
+    }
+
+    /**
+     * Create tasks for all successors. Their sizes are being computed right here, i.e. still on the executor and within
+     * the thread budget of this task.
+     *
+     * @param successors Successor protoclusters
+     * @return New tasks, one per successor
+     */
+
+    private List<ProtoclusterTask> successorTasks(List<Protocluster> successors) {
+      List<ProtoclusterTask> tasks = new ArrayList<>(successors.size());
+      for (int i = 0; i < successors.size(); i++) {
+        Protocluster successor = successors.get(i);
+        tasks.add(new ProtoclusterTask(successor, successor.getGraph().size(), successorSeed(i)));
+      }
+      return tasks;
+    }
+
+    /**
+     * @param index Position of the successor
+     * @return Random seed for the successor, mixed using the SplitMix64 finalizer
+     */
+
+    private long successorSeed(int index) {
+      long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+    }
+
+  }
+
 }
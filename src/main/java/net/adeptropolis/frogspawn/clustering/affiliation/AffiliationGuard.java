@@ -5,10 +5,15 @@
 
 package net.adeptropolis.frogspawn.clustering.affiliation;
 
-import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import net.adeptropolis.frogspawn.clustering.Cluster;
 import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.PredicateVertexIterator;
 import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.VertexScratch;
+import net.adeptropolis.frogspawn.graphs.traversal.EdgeConsumer;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
 
 /**
  * Ensures the vertex affiliation of a new subgraph. That is, given a parent cluster and a potential subgraph,
@@ -16,6 +21,12 @@ import net.adeptropolis.frogspawn.graphs.VertexIterator;
  * all remaining satisfy the required minimum affiliation criterion. Since the removal if vertices may affect
  * the affiliation score of remaining ones, the process is repeated until all satisfy the minimum affiliation
  * criterion.
+ * <p>For the {@link DefaultAffiliationMetric}, the process is being carried out incrementally: Instead of recomputing
+ * all scores on a new subgraph in every round, only the surviving neighbours of removed vertices are being re-checked
+ * in the next round. Their weights are being re-summed over their remaining edges in the same order as a full
+ * recomputation would, so the outcome is identical even for real-valued weights. The cost of a round is bounded by the
+ * edges of the re-checked vertices rather than those of all survivors. Candidates with symmetric storage always use
+ * the full recomputation, as their incident edges can only be found by scanning all vertices.</p>
  */
 
 public class AffiliationGuard {
@@ -51,19 +62,102 @@ public class AffiliationGuard {
    */
 
   public Graph ensure(Cluster parentCluster, Graph candidate) {
-    IntRBTreeSet survivors = new IntRBTreeSet(candidate.globalVertexIdIterator());
-    for (Graph subgraph = candidate; true; subgraph = graph.subgraph(survivors.iterator())) {
-      int prevSize = survivors.size();
-      shiftUnaffiliatedVertices(subgraph, parentCluster, survivors);
-      if (survivors.size() < minClusterSize) {
-        parentCluster.addToRemainder(survivors.iterator());
-        return null;
-      } else if (survivors.size() == minClusterSize || survivors.size() == prevSize) {
-        return subgraph;
+    if (metric.getClass() == DefaultAffiliationMetric.class && !candidate.symmetricStorage()) {
+      return ensureIncrementally(parentCluster, candidate);
+    }
+    try (VertexScratch survivors = VertexScratch.acquire(graph.order())) {
+      survivors.addAll(candidate.globalVertexIdIterator());
+      for (Graph subgraph = candidate; true; subgraph = graph.subgraph(survivors.members())) {
+        int prevSize = survivors.cardinality();
+        shiftUnaffiliatedVertices(subgraph, parentCluster, survivors);
+        if (survivors.cardinality() < minClusterSize) {
+          parentCluster.addToRemainder(survivors.members());
+          return null;
+        } else if (survivors.cardinality() == minClusterSize || survivors.cardinality() == prevSize) {
+          return subgraph;
+        }
+      }
+    }
+  }
+
+  /**
+   * <p>Incremental variant of {@link #ensure(Cluster, Graph)} for the default affiliation metric</p>
+   * <p>Rounds are being retained, i.e. all scores of a round refer to the survivors at its beginning. Thus, both the
+   * order of removals and the early termination once the survivors reach the minimum cluster size mirror the full
+   * recomputation.</p>
+   *
+   * @param parentCluster An existing cluster that the new graph should be assigned to as subcluster
+   * @param candidate     The subcluster graph candidate. Requires cheap access to the neighbourhood of single vertices
+   * @return Either a new subgraph with all vertices guaranteed to <code>exhibit ≥ minAffiliation</code> or <code>null</code>
+   * if that graph would be smaller than the allowed min size
+   */
+
+  private Graph ensureIncrementally(Cluster parentCluster, Graph candidate) {
+    int n = candidate.order();
+    double[] weights = candidate.weights().clone();
+    IntArrayList removed = new IntArrayList();
+    try (VertexScratch survivors = VertexScratch.acquire(n); VertexScratch pending = VertexScratch.acquire(n)) {
+      for (int v = 0; v < n; v++) {
+        survivors.add(v);
+        pending.add(v);
+      }
+      for (boolean modified = false; true; modified = true) {
+        int prevSize = survivors.cardinality();
+        removed.clear();
+        for (IntIterator it = pending.members(); it.hasNext(); ) {
+          int v = it.nextInt();
+          if (survivors.contains(v) && affiliation(candidate, v, weights[v]) < minAffiliation) {
+            removed.add(v);
+          }
+        }
+        for (int i = 0; i < removed.size(); i++) {
+          parentCluster.addToRemainder(candidate.globalVertexId(removed.getInt(i)));
+          survivors.remove(removed.getInt(i));
+        }
+        if (survivors.cardinality() < minClusterSize) {
+          parentCluster.addToRemainder(new PredicateVertexIterator(candidate, survivors::contains));
+          return null;
+        } else if (survivors.cardinality() == minClusterSize || survivors.cardinality() == prevSize) {
+          // Just like the full recomputation, return the subgraph from the beginning of this round
+          if (!modified) {
+            return candidate;
+          }
+          for (int i = 0; i < removed.size(); i++) {
+            survivors.add(removed.getInt(i));
+          }
+          return graph.subgraph(new PredicateVertexIterator(candidate, survivors::contains));
+        }
+        pending.clear();
+        for (int i = 0; i < removed.size(); i++) {
+          candidate.traverseIncidentEdges(removed.getInt(i), (u, v, weight) -> {
+            if (survivors.contains(v)) {
+              pending.add(v);
+            }
+          }, TraversalMode.DEFAULT);
+        }
+        SurvivorWeight survivorWeight = new SurvivorWeight(survivors);
+        for (IntIterator it = pending.members(); it.hasNext(); ) {
+          int v = it.nextInt();
+          weights[v] = survivorWeight.compute(candidate, v);
+        }
       }
     }
   }
 
+  /**
+   * Default affiliation score of a candidate vertex
+   *
+   * @param candidate The subcluster graph candidate
+   * @param v         Local vertex id
+   * @param weight    Remaining weight of the vertex within the candidate
+   * @return Ratio of the remaining weight and the vertex' weight within the root graph
+   */
+
+  private double affiliation(Graph candidate, int v, double weight) {
+    double supergraphWeight = graph.weightForGlobalId(candidate.globalVertexId(v));
+    return (supergraphWeight != 0) ? Math.max(0, weight) / supergraphWeight : 0;
+  }
+
   /**
    * Move all inconcistent vertices of a subgraph to the parent's remainder
    *
@@ -72,7 +166,7 @@ public class AffiliationGuard {
    * @param survivors     Set of vertices that are considered to be part of the subgraph
    */
 
-  private void shiftUnaffiliatedVertices(Graph subgraph, Cluster parentCluster, IntRBTreeSet survivors) {
+  private void shiftUnaffiliatedVertices(Graph subgraph, Cluster parentCluster, VertexScratch survivors) {
     double[] metrics = metric.compute(graph, subgraph);
     VertexIterator it = subgraph.vertexIterator();
     while (it.hasNext()) {
@@ -83,4 +177,44 @@ public class AffiliationGuard {
     }
   }
 
+  /**
+   * Sums up the weights of all edges between a vertex and the survivors in the order of traversal
+   */
+
+  private static class SurvivorWeight implements EdgeConsumer {
+
+    private final VertexScratch survivors;
+    private double weight;
+
+    /**
+     * Constructor
+     *
+     * @param survivors Set of vertices that are considered to be part of the subgraph
+     */
+
+    SurvivorWeight(VertexScratch survivors) {
+      this.survivors = survivors;
+    }
+
+    /**
+     * @param candidate The subcluster graph candidate
+     * @param v         Local vertex id
+     * @return Total weight of all edges between the vertex and the survivors
+     */
+
+    double compute(Graph candidate, int v) {
+      weight = 0;
+      candidate.traverseIncidentEdges(v, this, TraversalMode.DEFAULT);
+      return weight;
+    }
+
+    @Override
+    public void accept(int u, int v, double edgeWeight) {
+      if (survivors.contains(v)) {
+        weight += edgeWeight;
+      }
+    }
+
+  }
+
 }
@@ -100,7 +100,7 @@ public class Postprocessing {
 
   public static Cluster apply(Cluster rootCluster, ClusteringSettings settings) {
     LOG.info("Starting postprocessing using settings {}", settings);
-    return new Postprocessing(rootCluster, settings).postprocess();
+    return settings.getTraversalExecutor().call(() -> new Postprocessing(rootCluster, settings).postprocess());
   }
 
   /**
@@ -6,7 +6,6 @@
 package net.adeptropolis.frogspawn.clustering.postprocessing.postprocessors;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
 import net.adeptropolis.frogspawn.clustering.Cluster;
 import net.adeptropolis.frogspawn.clustering.affiliation.AffiliationGuard;
 import net.adeptropolis.frogspawn.clustering.affiliation.AffiliationMetric;
@@ -14,6 +13,7 @@ import net.adeptropolis.frogspawn.clustering.postprocessing.Postprocessor;
 import net.adeptropolis.frogspawn.clustering.postprocessing.TreeTraversalMode;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.VertexScratch;
 
 /**
  * <p>Ensures the cluster affiliation of individual vertices after postprocessing, namely after the ancestor similarity step.</p>
@@ -61,27 +61,30 @@ public class AffiliationGuardingPostprocessor implements Postprocessor {
       return PostprocessingState.UNCHANGED;
     }
 
-    IntRBTreeSet clusterVertices = new IntRBTreeSet(cluster.getRemainder());
-    Graph clusterGraph = cluster.aggregateGraph();
-    IntRBTreeSet survivors = new IntRBTreeSet(clusterGraph.globalVertexIdIterator());
-    for (Graph subgraph = clusterGraph; true; subgraph = cluster.rootGraph().subgraph(survivors.iterator())) {
-      int prevSize = clusterVertices.size();
-      shiftUnaffiliatedVertices(clusterVertices, parent, survivors, subgraph);
-      if (clusterVertices.size() < minClusterSize) {
-        parent.addToRemainder(clusterVertices.iterator());
-        parent.assimilateChild(cluster, false);
-        return PostprocessingState.CHANGED;
-      } else if (clusterVertices.size() == prevSize) {
-        break;
+    int order = cluster.rootGraph().order();
+    try (VertexScratch clusterVertices = VertexScratch.acquire(order); VertexScratch survivors = VertexScratch.acquire(order)) {
+      clusterVertices.addAll(cluster.getRemainder().iterator());
+      Graph clusterGraph = cluster.aggregateGraph();
+      survivors.addAll(clusterGraph.globalVertexIdIterator());
+      for (Graph subgraph = clusterGraph; true; subgraph = cluster.rootGraph().subgraph(survivors.members())) {
+        int prevSize = clusterVertices.cardinality();
+        shiftUnaffiliatedVertices(clusterVertices, parent, survivors, subgraph);
+        if (clusterVertices.cardinality() < minClusterSize) {
+          parent.addToRemainder(clusterVertices.members());
+          parent.assimilateChild(cluster, false);
+          return PostprocessingState.CHANGED;
+        } else if (clusterVertices.cardinality() == prevSize) {
+          break;
+        }
       }
-    }
 
-    if (clusterVertices.size() == cluster.getRemainder().size()) {
-      return PostprocessingState.UNCHANGED;
-    }
+      if (clusterVertices.cardinality() == cluster.getRemainder().size()) {
+        return PostprocessingState.UNCHANGED;
+      }
 
-    cluster.setRemainder(new IntArrayList(clusterVertices));
-    return PostprocessingState.CHANGED;
+      cluster.setRemainder(new IntArrayList(clusterVertices.members()));
+      return PostprocessingState.CHANGED;
+    }
 
   }
 
@@ -125,7 +128,7 @@ public class AffiliationGuardingPostprocessor implements Postprocessor {
    * @param subgraph        The subgraph created from the survivors
    */
 
-  private void shiftUnaffiliatedVertices(IntRBTreeSet clusterVertices, Cluster parent, IntRBTreeSet survivors, Graph subgraph) {
+  private void shiftUnaffiliatedVertices(VertexScratch clusterVertices, Cluster parent, VertexScratch survivors, Graph subgraph) {
     double[] affiliationScores = affiliationMetric.compute(parent.rootGraph(), subgraph);
     VertexIterator it = subgraph.vertexIterator();
     while (it.hasNext()) {
@@ -10,6 +10,7 @@ import net.adeptropolis.frogspawn.clustering.Cluster;
 import net.adeptropolis.frogspawn.clustering.affiliation.AffiliationMetric;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
 import net.adeptropolis.frogspawn.helpers.Arr;
 
 /**
@@ -24,6 +25,7 @@ public class ClusterDigester {
   private final int maxSize;
   private final boolean aggregate;
   private final DigestRanking ranking;
+  private final TraversalExecutor executor;
 
   /**
    * Constructor
@@ -36,6 +38,7 @@ public class ClusterDigester {
     this.maxSize = settings.getMaxDigestSize();
     this.aggregate = settings.isAggregateDigests();
     this.ranking = settings.getDigestRanking();
+    this.executor = settings.getTraversalExecutor();
   }
 
   /**
@@ -46,7 +49,7 @@ public class ClusterDigester {
    */
 
   public Digest digest(Cluster cluster) {
-    return aggregate ? aggregateDigest(cluster) : remainderDigest(cluster);
+    return executor.call(() -> aggregate ? aggregateDigest(cluster) : remainderDigest(cluster));
   }
 
   /**
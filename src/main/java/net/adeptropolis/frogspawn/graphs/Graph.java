@@ -9,6 +9,7 @@ import it.unimi.dsi.fastutil.ints.IntIterator;
 import net.adeptropolis.frogspawn.graphs.filters.GraphFilter;
 import net.adeptropolis.frogspawn.graphs.traversal.*;
 
+import java.util.Arrays;
 import java.util.function.IntPredicate;
 
 /**
@@ -77,11 +78,39 @@ public abstract class Graph {
    */
 
   public void traverse(EdgeConsumer consumer, TraversalMode mode) {
-    for (int i = 0; i < order(); i++) {
+    traverseRange(0, order(), consumer, mode);
+  }
+
+  /**
+   * <p>Sequential traversal over all edges whose left endpoint lies within a given range of local vertex ids</p>
+   * <p>Edges are not necessarily grouped by their left endpoints, but no left endpoint outside of the given range
+   * will ever be passed to the consumer. This allows for disjoint ranges to be traversed concurrently.</p>
+   *
+   * @param from     First local vertex id (inclusive)
+   * @param to       Last local vertex id (exclusive)
+   * @param consumer Instance of EdgeConsumer
+   * @param mode     Traversal mode
+   */
+
+  public void traverseRange(int from, int to, EdgeConsumer consumer, TraversalMode mode) {
+    for (int i = from; i < to; i++) {
       traverseIncidentEdges(i, consumer, mode);
     }
   }
 
+  /**
+   * <p>Whether this graph only stores the lower triangle of its (symmetric) adjacency matrix</p>
+   * <p>Graphs using this storage mode still expose all edges in both directions. However, retrieving the full set of
+   * edges adjacent to a single vertex is expensive. Whenever possible, prefer traversals over the full graph or
+   * ranges of vertices instead.</p>
+   *
+   * @return true if only the lower triangle is being stored
+   */
+
+  public boolean symmetricStorage() {
+    return false;
+  }
+
   /**
    * Graph order
    *
@@ -121,6 +150,51 @@ public abstract class Graph {
     ParallelEdgeOps.traverse(this, consumer, mode);
   }
 
+  /**
+   * Parallel traversal over all edges of the graph using a given traversal mode and strategy
+   *
+   * @param consumer Instance of EdgeConsumer
+   * @param mode     Traversal mode
+   * @param strategy Strategy for distributing the traversal among threads
+   */
+
+  public void traverseParallel(EdgeConsumer consumer, TraversalMode mode, TraversalStrategy strategy) {
+    if (strategy == TraversalStrategy.WORK_STEALING) {
+      WorkStealingEdgeOps.traverse(this, consumer, mode);
+    } else {
+      traverseParallel(consumer, mode);
+    }
+  }
+
+  /**
+   * <p>Compute a range of rows of the product of this graph's adjacency matrix with a vector</p>
+   * <p>Only the entries <code>result[from]</code> to <code>result[to - 1]</code> are being written. Hence, disjoint ranges
+   * may safely be computed in parallel. The default implementation is based on
+   * {@link #traverseRange(int, int, EdgeConsumer, TraversalMode)}.</p>
+   *
+   * @param from     First row (inclusive)
+   * @param to       Last row (exclusive)
+   * @param argument Vertex-indexed vector
+   * @param result   Vertex-indexed result vector
+   */
+
+  public void multiplyAdjacency(int from, int to, double[] argument, double[] result) {
+    Arrays.fill(result, from, to, 0);
+    traverseRange(from, to, (u, v, weight) -> result[u] += weight * argument[v], TraversalMode.DEFAULT);
+  }
+
+  /**
+   * Estimate the relative cost of traversing all edges incident to a given vertex. Used for balancing parallel
+   * traversals. Implementations should return values proportional to the number of stored edges of the vertex.
+   *
+   * @param v (Local!) vertex id
+   * @return Relative traversal cost. The default implementation assumes uniform costs.
+   */
+
+  public long traversalCost(int v) {
+    return 1L;
+  }
+
   /**
    * Parallel traversal over all vertices of the graph
    *
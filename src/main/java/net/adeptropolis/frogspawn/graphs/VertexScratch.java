@@ -0,0 +1,246 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Pooled scratch space for per-vertex state of graph algorithms</p>
+ * <p>Every instance provides a bitset of vertex ids for membership tests and a few int arrays for arbitrary per-vertex
+ * values. Instances are being kept in a small thread-local pool: {@link #acquire(int)} hands out an empty instance of
+ * sufficient capacity and {@link #close()} returns it to the pool of the current thread. Clearing only touches the
+ * range of the bitset that had actually been modified, so repeated use for small subsets of a large graph is cheap.</p>
+ * <p>Instances whose bitset and int arrays exceed <code>MAX_POOLED_BYTES</code> in total are not being pooled at all.
+ * Long-running threads may additionally release their pool using {@link #releasePool()} once they are done.</p>
+ * <p>Instances are not thread-safe and must not be used after being closed.</p>
+ */
+
+public final class VertexScratch implements AutoCloseable {
+
+  private static final int MAX_POOLED = 4;
+  private static final int INT_SLOTS = 4;
+  private static final long MAX_POOLED_BYTES = 64L << 20;
+  private static final ThreadLocal<ArrayDeque<VertexScratch>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+  private final int[][] ints;
+  private long[] words;
+  private int capacity;
+  private int cardinality;
+  private int minWord;
+  private int maxWord;
+  private boolean acquired;
+
+  /**
+   * Constructor
+   */
+
+  private VertexScratch() {
+    this.ints = new int[INT_SLOTS][];
+    this.words = new long[0];
+    this.minWord = Integer.MAX_VALUE;
+    this.maxWord = -1;
+  }
+
+  /**
+   * Acquire an empty instance from the pool of the current thread
+   *
+   * @param capacity Number of vertices, i.e. all vertex ids need to be in <code>[0, capacity)</code>
+   * @return An empty instance. Needs to be closed after use.
+   */
+
+  public static VertexScratch acquire(int capacity) {
+    ArrayDeque<VertexScratch> pool = POOL.get();
+    VertexScratch scratch = pool.isEmpty() ? new VertexScratch() : pool.pop();
+    int numWords = (int) ((capacity + 63L) >>> 6);
+    if (scratch.words.length < numWords) {
+      scratch.words = new long[numWords];
+    }
+    scratch.capacity = capacity;
+    scratch.acquired = true;
+    return scratch;
+  }
+
+  /**
+   * Add a vertex to the set
+   *
+   * @param v Vertex id
+   * @return <code>true</code> if the vertex had not been a member before
+   */
+
+  public boolean add(int v) {
+    int w = v >>> 6;
+    long mask = 1L << v;
+    if ((words[w] & mask) != 0) {
+      return false;
+    }
+    words[w] |= mask;
+    cardinality++;
+    if (w < minWord) minWord = w;
+    if (w > maxWord) maxWord = w;
+    return true;
+  }
+
+  /**
+   * Add multiple vertices to the set
+   *
+   * @param vertices Vertex ids
+   */
+
+  public void addAll(IntIterator vertices) {
+    while (vertices.hasNext()) {
+      add(vertices.nextInt());
+    }
+  }
+
+  /**
+   * Remove a vertex from the set
+   *
+   * @param v Vertex id
+   * @return <code>true</code> if the vertex had been a member
+   */
+
+  public boolean remove(int v) {
+    int w = v >>> 6;
+    long mask = 1L << v;
+    if ((words[w] & mask) == 0) {
+      return false;
+    }
+    words[w] &= ~mask;
+    cardinality--;
+    return true;
+  }
+
+  /**
+   * @param v Vertex id
+   * @return Whether the vertex is a member of the set
+   */
+
+  public boolean contains(int v) {
+    return (words[v >>> 6] & (1L << v)) != 0;
+  }
+
+  /**
+   * @return Number of vertices in the set
+   */
+
+  public int cardinality() {
+    return cardinality;
+  }
+
+  /**
+   * @return Iterator over all members of the set in ascending order. The set must not be modified during iteration.
+   */
+
+  public IntIterator members() {
+    return new MemberIterator();
+  }
+
+  /**
+   * Return a scratch int array
+   *
+   * @param slot Slot index in <code>[0, 4)</code>. Different slots refer to different arrays.
+   * @return An array of at least <code>capacity + 1</code> entries with undefined contents
+   */
+
+  public int[] ints(int slot) {
+    if (ints[slot] == null || ints[slot].length < capacity + 1) {
+      ints[slot] = new int[capacity + 1];
+    }
+    return ints[slot];
+  }
+
+  /**
+   * Remove all vertices from the set
+   */
+
+  public void clear() {
+    if (minWord <= maxWord) {
+      Arrays.fill(words, minWord, maxWord + 1, 0L);
+    }
+    minWord = Integer.MAX_VALUE;
+    maxWord = -1;
+    cardinality = 0;
+  }
+
+  /**
+   * Clear this instance and return it to the pool of the current thread
+   */
+
+  @Override
+  public void close() {
+    if (!acquired) {
+      return;
+    }
+    acquired = false;
+    clear();
+    ArrayDeque<VertexScratch> pool = POOL.get();
+    if (pool.size() < MAX_POOLED && footprint() <= MAX_POOLED_BYTES) {
+      pool.push(this);
+    }
+  }
+
+  /**
+   * @return Number of bytes occupied by the bitset and all int arrays
+   */
+
+  long footprint() {
+    long bytes = 8L * words.length;
+    for (int[] slot : ints) {
+      bytes += (slot != null) ? 4L * slot.length : 0;
+    }
+    return bytes;
+  }
+
+  /**
+   * Discard all pooled instances of the current thread
+   */
+
+  public static void releasePool() {
+    POOL.remove();
+  }
+
+  /**
+   * Iterator over all set bits
+   */
+
+  private class MemberIterator implements IntIterator {
+
+    private int word;
+    private long bits;
+
+    MemberIterator() {
+      this.word = Math.min(minWord, maxWord);
+      this.bits = (minWord <= maxWord) ? words[minWord] : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (bits == 0) {
+        if (word >= maxWord) {
+          return false;
+        }
+        bits = words[++word];
+      }
+      return true;
+    }
+
+    @Override
+    public int nextInt() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+      bits &= bits - 1;
+      return v;
+    }
+
+  }
+
+}
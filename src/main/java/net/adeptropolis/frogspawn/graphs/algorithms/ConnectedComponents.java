@@ -5,18 +5,25 @@
 
 package net.adeptropolis.frogspawn.graphs.algorithms;
 
-import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntIterators;
 import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.VertexScratch;
 import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 
 /**
- * <p>Compute the connected components of a graph using DFS</p>
+ * <p>Compute the connected components of a graph using concurrent union-find</p>
+ * <p>All edges from the lower triangle of the adjacency matrix are being streamed in parallel, merging the sets of
+ * their endpoints. Merges are lock-free: A root is only ever being linked to a smaller root using compare-and-set, so
+ * that the root of every set is its smallest vertex. This works equally well for graphs with symmetric storage, which
+ * do not provide cheap access to the neighbourhood of single vertices.</p>
+ * <p>Components are being emitted in the order of their smallest vertices.</p>
  */
 
 public class ConnectedComponents {
@@ -56,42 +63,91 @@ public class ConnectedComponents {
   private void find(Consumer<Graph> consumer) {
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
-    IntLinkedOpenHashSet remaining = new IntLinkedOpenHashSet();
-    for (int i = 0; i < graph.order(); i++) remaining.add(i);
-    int comps = 0;
-    while (!remaining.isEmpty()) {
-      int i = remaining.removeFirstInt();
-      IntOpenHashSet component = processComponent(i);
-      Graph subgraph = graph.localSubgraph(component.iterator());
-      consumer.accept(subgraph);
-      comps++;
-      remaining.removeAll(component);
-    }
+    int n = graph.order();
+    AtomicIntegerArray parents = new AtomicIntegerArray(n);
+    for (int i = 0; i < n; i++) parents.set(i, i);
+    graph.traverseParallel((u, v, weight) -> union(parents, u, v), TraversalMode.LOWER_TRIANGULAR);
+    int comps = emitComponents(parents, consumer);
     stopWatch.stop();
     LOG.trace("Isolated {} connected components in {}", comps, stopWatch);
   }
 
   /**
-   * Process the current connected component
+   * Group all vertices by their roots and pass the resulting subgraphs to a consumer
    *
-   * @param i First member vertex of the component
-   * @return List of vertices that belong to the same connected component that i does
+   * @param parents  Parent pointers
+   * @param consumer A consumer for the connected subgraphs
+   * @return Number of components
    */
 
-  private IntOpenHashSet processComponent(int i) {
-    IntOpenHashSet component = new IntOpenHashSet();
-    IntLinkedOpenHashSet queue = new IntLinkedOpenHashSet();
-    queue.add(i);
-    while (!queue.isEmpty()) {
-      int j = queue.removeFirstInt();
-      component.add(j);
-      graph.traverseIncidentEdges(j, (u, v, weight) -> {
-        if (!queue.contains(v) && !component.contains(v)) {
-          queue.add(v);
+  private int emitComponents(AtomicIntegerArray parents, Consumer<Graph> consumer) {
+    int n = parents.length();
+    try (VertexScratch scratch = VertexScratch.acquire(n)) {
+      int[] roots = scratch.ints(0);
+      int[] offsets = scratch.ints(1);
+      int[] fill = scratch.ints(2);
+      int[] vertices = scratch.ints(3);
+      Arrays.fill(offsets, 0, n + 1, 0);
+      for (int i = 0; i < n; i++) {
+        roots[i] = root(parents, i);
+        offsets[roots[i] + 1]++;
+      }
+      for (int i = 0; i < n; i++) {
+        offsets[i + 1] += offsets[i];
+      }
+      System.arraycopy(offsets, 0, fill, 0, n);
+      for (int i = 0; i < n; i++) {
+        vertices[fill[roots[i]]++] = i;
+      }
+      int comps = 0;
+      for (int i = 0; i < n; i++) {
+        if (roots[i] == i) {
+          consumer.accept(graph.localSubgraph(IntIterators.wrap(vertices, offsets[i], offsets[i + 1] - offsets[i])));
+          comps++;
         }
-      }, TraversalMode.DEFAULT);
+      }
+      return comps;
+    }
+  }
+
+  /**
+   * Merge the sets of two vertices. Safe to be called concurrently.
+   *
+   * @param parents Parent pointers
+   * @param u       A vertex
+   * @param v       Another vertex
+   */
+
+  private static void union(AtomicIntegerArray parents, int u, int v) {
+    while (true) {
+      int rootU = root(parents, u);
+      int rootV = root(parents, v);
+      if (rootU == rootV
+              || (rootU < rootV && parents.compareAndSet(rootV, rootV, rootU))
+              || (rootV < rootU && parents.compareAndSet(rootU, rootU, rootV))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Find the root of a vertex' set, halving the path along the way. Safe to be called concurrently.
+   *
+   * @param parents Parent pointers
+   * @param v       A vertex
+   * @return Root vertex
+   */
+
+  private static int root(AtomicIntegerArray parents, int v) {
+    int parent;
+    while ((parent = parents.get(v)) != v) {
+      int grandparent = parents.get(parent);
+      if (grandparent != parent) {
+        parents.compareAndSet(v, parent, grandparent);
+      }
+      v = grandparent;
     }
-    return component;
+    return v;
   }
 
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>Coarsen a graph by heavy-edge matching</p>
+ * <p>Vertices are being paired with the neighbour they share the heaviest edge with, and every pair is being collapsed
+ * into a single vertex of the coarse graph. Edges between the members of a pair become self-loops, so that the
+ * weight of every coarse vertex equals the total weight of its members. Matching runs in a few rounds, each of which
+ * streams the lower triangle of the adjacency matrix once. Hence, it is equally applicable to graphs with symmetric
+ * storage.</p>
+ * <p>Eigenvectors of the coarse graph's shifted normalized laplacian may be prolonged to the original graph using
+ * {@link #prolong(double[])}.</p>
+ */
+
+public class HeavyEdgeCoarsening {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HeavyEdgeCoarsening.class.getSimpleName());
+  private static final int MATCHING_ROUNDS = 3;
+
+  private final Graph graph;
+  private final int[] coarseIds;
+  private final SparseGraph coarseGraph;
+
+  /**
+   * Constructor
+   *
+   * @param graph A graph
+   * @param seed  Random seed for the matching order
+   */
+
+  public HeavyEdgeCoarsening(Graph graph, long seed) {
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    this.graph = graph;
+    this.coarseIds = match(seed);
+    this.coarseGraph = collapse();
+    stopWatch.stop();
+    LOG.debug("Coarsened graph of size {} to {} in {}", graph.order(), coarseGraph.order(), stopWatch);
+  }
+
+  /**
+   * @return The coarse graph
+   */
+
+  public SparseGraph coarseGraph() {
+    return coarseGraph;
+  }
+
+  /**
+   * @return Ratio between the orders of the coarse and the original graph
+   */
+
+  public double reduction() {
+    return graph.order() > 0 ? coarseGraph.order() / (double) graph.order() : 1.0;
+  }
+
+  /**
+   * Prolong an eigenvector of the coarse graph's shifted normalized laplacian to the original graph. Members of a
+   * coarse vertex share the same value of the underlying generalized eigenvector <code>D<sup>-½</sup>v</code>.
+   *
+   * @param coarseVector Vector indexed by coarse vertices
+   * @return Normalized vector indexed by local vertex ids of the original graph
+   */
+
+  public double[] prolong(double[] coarseVector) {
+    double[] weights = graph.weights();
+    double[] coarseWeights = coarseGraph.weights();
+    double[] vector = new double[graph.order()];
+    for (int v = 0; v < vector.length; v++) {
+      int c = coarseIds[v];
+      vector[v] = coarseVector[c] * Math.sqrt(weights[v] / coarseWeights[c]);
+    }
+    Vectors.normalize2(vector);
+    return vector;
+  }
+
+  /**
+   * @param v Local vertex id of the original graph
+   * @return Id of the corresponding vertex in the coarse graph
+   */
+
+  public int coarseId(int v) {
+    return coarseIds[v];
+  }
+
+  /**
+   * Compute a heavy-edge matching
+   *
+   * @param seed Random seed for the matching order
+   * @return Mapping of local vertex ids onto coarse vertex ids
+   */
+
+  private int[] match(long seed) {
+    int n = graph.order();
+    int[] mate = new int[n];
+    Arrays.fill(mate, -1);
+    int[] order = shuffledVertices(n, seed);
+    int[] heaviest = new int[n];
+    double[] heaviestWeight = new double[n];
+    for (int round = 0; round < MATCHING_ROUNDS; round++) {
+      Arrays.fill(heaviest, -1);
+      Arrays.fill(heaviestWeight, 0);
+      graph.traverse((u, v, weight) -> {
+        if (u != v && mate[u] < 0 && mate[v] < 0) {
+          if (weight > heaviestWeight[u]) {
+            heaviest[u] = v;
+            heaviestWeight[u] = weight;
+          }
+          if (weight > heaviestWeight[v]) {
+            heaviest[v] = u;
+            heaviestWeight[v] = weight;
+          }
+        }
+      }, TraversalMode.LOWER_TRIANGULAR);
+      int matched = 0;
+      for (int v : order) {
+        int u = heaviest[v];
+        if (u >= 0 && mate[v] < 0 && mate[u] < 0) {
+          mate[v] = u;
+          mate[u] = v;
+          matched++;
+        }
+      }
+      if (matched == 0) {
+        break;
+      }
+    }
+    int[] ids = new int[n];
+    int numCoarse = 0;
+    for (int v = 0; v < n; v++) {
+      if (mate[v] < 0 || v < mate[v]) {
+        ids[v] = numCoarse++;
+      } else {
+        ids[v] = ids[mate[v]];
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * @param n    Number of vertices
+   * @param seed Random seed
+   * @return A random permutation of all local vertex ids
+   */
+
+  private static int[] shuffledVertices(int n, long seed) {
+    Random random = new Random(seed);
+    int[] vertices = new int[n];
+    for (int i = 0; i < n; i++) {
+      vertices[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = vertices[i];
+      vertices[i] = vertices[j];
+      vertices[j] = tmp;
+    }
+    return vertices;
+  }
+
+  /**
+   * Collapse all matched pairs into single vertices
+   *
+   * @return The coarse graph
+   */
+
+  private SparseGraph collapse() {
+    SparseGraphBuilder builder = new SparseGraphBuilder(graph.size());
+    graph.traverse((u, v, weight) -> {
+      int cu = coarseIds[u];
+      int cv = coarseIds[v];
+      if (u != v && cu == cv) {
+        builder.add(cu, cv, 2 * weight);
+      } else {
+        builder.add(cu, cv, weight);
+      }
+    }, TraversalMode.LOWER_TRIANGULAR);
+    return builder.build();
+  }
+
+}
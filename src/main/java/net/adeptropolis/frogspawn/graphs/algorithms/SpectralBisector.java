@@ -8,12 +8,15 @@ package net.adeptropolis.frogspawn.graphs.algorithms;
 import net.adeptropolis.frogspawn.ClusteringSettings;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.*;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseSubgraph;
 import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
 
 import java.util.function.Consumer;
 
 public class SpectralBisector {
 
+  private static final double MAX_COARSENING_REDUCTION = 0.9;
+
   /**
    * <p>Spectral bisector for biparite graphs</p>
    * <p>The original graph will be split into two partitions such that the normalized cut is minimized</p>
@@ -36,25 +39,133 @@ public class SpectralBisector {
    */
 
   public void bisect(Graph graph, Consumer<Graph> consumer) throws PowerIterationException {
-    PartialConvergenceCriterion convergenceCriterion = createConvergenceCriterion(graph);
+    bisect(graph, null, consumer);
+  }
+
+  /**
+   * Bisects the given graph into two partitons, optionally starting from the restricted eigenvector of a parent graph
+   *
+   * @param graph     The input graph
+   * @param warmStart Eigenvector of a supergraph (see {@link WarmStartVector}). May be <code>null</code>
+   * @param consumer  A consumer for the resulting partitions
+   * @return The eigenvector of this bisection for warm-starting bisections of the resulting partitions if warm starts
+   * are enabled (see <code>ClusteringSettings#warmStart</code>). Otherwise <code>null</code>
+   * @throws PowerIteration.MaxIterationsExceededException if the number of iterations has been exceeded
+   */
+
+  public WarmStartVector bisect(Graph graph, WarmStartVector warmStart, Consumer<Graph> consumer) throws PowerIterationException {
+    Graph originalGraph = graph;
+    graph = materializeIfWorthwhile(graph);
+    double[] iv = multilevelInitialVector(graph);
+    int trailSize = (iv != null) ? settings.getRefinementTrailSize() : settings.getTrailSize();
+    if (iv == null && warmStart != null) {
+      iv = warmStart.restrict(graph);
+    }
+    if (iv == null) {
+      iv = ivSource.generate(graph.order());
+    }
+    PartialConvergenceCriterion convergenceCriterion = createConvergenceCriterion(graph, trailSize);
     ShiftedNormalizedLaplacian ssnl = new ShiftedNormalizedLaplacian(graph);
-    double[] iv = ivSource.generate(graph.order());
-    double[] v2 = PowerIteration.apply(ssnl, convergenceCriterion, iv, settings.getMaxIterations(), false);
+    double[] v2 = computeEigenvector(ssnl, convergenceCriterion, iv);
+    WarmStartVector childWarmStart = settings.isWarmStart() ? new WarmStartVector(originalGraph, graph.weights(), v2) : null;
     convergenceCriterion.postprocess(v2);
     yieldSubgraph(graph, v2, consumer, 1);
     yieldSubgraph(graph, v2, consumer, -1);
+    return childWarmStart;
+  }
+
+  /**
+   * <p>Compute an initial vector for graphs with at least <code>coarseningThreshold</code> vertices by multilevel
+   * coarsening</p>
+   * <p>The graph is being coarsened using {@link HeavyEdgeCoarsening}, and the eigenvector of the coarse graph is being
+   * computed (recursively using the same scheme) and prolonged to the original graph. As this is already a good
+   * approximation, it only needs to be refined by a few iterations with <code>refinementTrailSize</code>.</p>
+   * <p>Coarse levels are merely a shortcut. If the eigenvector of a coarse graph does not converge within
+   * <code>maxIterations</code>, the next finer level falls back to a regular initial vector instead.</p>
+   *
+   * @param graph A graph
+   * @return Initial vector for the graph or <code>null</code> if the graph is either too small, cannot be coarsened
+   * effectively or the coarse eigenvector did not converge
+   */
+
+  private double[] multilevelInitialVector(Graph graph) {
+    if (graph.order() < settings.getCoarseningThreshold()) {
+      return null;
+    }
+    HeavyEdgeCoarsening coarsening = new HeavyEdgeCoarsening(graph, settings.getRandomSeed());
+    if (coarsening.reduction() > MAX_COARSENING_REDUCTION || coarsening.coarseGraph().order() < 2) {
+      return null;
+    }
+    Graph coarseGraph = coarsening.coarseGraph();
+    double[] iv = multilevelInitialVector(coarseGraph);
+    int trailSize = (iv != null) ? settings.getRefinementTrailSize() : settings.getTrailSize();
+    if (iv == null) {
+      iv = ivSource.generate(coarseGraph.order());
+    }
+    PartialConvergenceCriterion convergenceCriterion = createConvergenceCriterion(coarseGraph, trailSize);
+    try {
+      double[] coarseV2 = computeEigenvector(new ShiftedNormalizedLaplacian(coarseGraph), convergenceCriterion, iv);
+      return coarsening.prolong(coarseV2);
+    } catch (PowerIteration.MaxIterationsExceededException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Approximate the eigenvector of the largest eigenvalue of a shifted normalized laplacian using the configured solver
+   *
+   * @param ssnl                 Shifted normalized laplacian
+   * @param convergenceCriterion Convergence criterion
+   * @param iv                   Initial vector
+   * @return The approximate eigenvector
+   * @throws PowerIteration.MaxIterationsExceededException if the number of iterations has been exceeded
+   */
+
+  private double[] computeEigenvector(ShiftedNormalizedLaplacian ssnl, PartialConvergenceCriterion convergenceCriterion,
+                                      double[] iv) throws PowerIteration.MaxIterationsExceededException {
+    switch (settings.getEigenSolver()) {
+      case LANCZOS:
+        return LanczosIteration.apply(ssnl, convergenceCriterion, iv, settings.getMaxIterations(), settings.getLanczosBasisSize());
+      case FUSED_POWER_ITERATION:
+        if (convergenceCriterion instanceof ConstantSigTrailConvergence) {
+          return FusedPowerIteration.apply(ssnl, (ConstantSigTrailConvergence) convergenceCriterion, iv, settings.getMaxIterations());
+        }
+        return PowerIteration.apply(ssnl, convergenceCriterion, iv, settings.getMaxIterations(), false);
+      case MOMENTUM_POWER_ITERATION:
+        return MomentumPowerIteration.apply(ssnl, convergenceCriterion, iv, settings.getMaxIterations(), settings.getMomentum());
+      default:
+        return PowerIteration.apply(ssnl, convergenceCriterion, iv, settings.getMaxIterations(), false);
+    }
+  }
+
+  /**
+   * Copy sparse subgraphs into compact storage if the expected number of edge traversals during power iteration
+   * (i.e. <code>maxIterations × size</code>) reaches <code>materializationThreshold</code>. Materialization is
+   * disabled by default, as every compact copy requires additional memory on top of the root graph.
+   *
+   * @param graph A graph
+   * @return Either a materialized copy of the graph or the graph itself
+   */
+
+  private Graph materializeIfWorthwhile(Graph graph) {
+    if (graph instanceof SparseSubgraph
+            && (double) settings.getMaxIterations() * graph.size() >= settings.getMaterializationThreshold()) {
+      return ((SparseSubgraph) graph).materialize();
+    }
+    return graph;
   }
 
   /**
    * Return a new (partial) convergence criterion instance for a given graph.
    * Currently, this always returns an instance of <code>ConstantSigTrailConvergence</code>
    *
-   * @param graph A graph
+   * @param graph     A graph
+   * @param trailSize Size of the sliding window
    * @return A new <code>PartialConvergenceCriterion</code> instance
    */
 
-  private PartialConvergenceCriterion createConvergenceCriterion(Graph graph) {
-    return new ConstantSigTrailConvergence(graph, settings.getTrailSize(), settings.getConvergenceThreshold());
+  private PartialConvergenceCriterion createConvergenceCriterion(Graph graph, int trailSize) {
+    return new ConstantSigTrailConvergence(graph, trailSize, settings.getConvergenceThreshold());
   }
 
   /**
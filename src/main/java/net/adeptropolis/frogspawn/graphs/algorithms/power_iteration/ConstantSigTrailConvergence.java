@@ -66,8 +66,22 @@ public class ConstantSigTrailConvergence implements PartialConvergenceCriterion
 
   @Override
   public boolean satisfied(double[] previous, double[] current, int iterations) {
+    return update(current, 0, graph.order()) >= threshold;
+  }
+
+  /**
+   * Update the sign trails of a range of entries. Disjoint ranges may be updated concurrently.
+   *
+   * @param current Result of the current iteration. Only the signs of its entries are relevant, so it does not need
+   *                to be normalized
+   * @param from    First entry (inclusive)
+   * @param to      Last entry (exclusive)
+   * @return Number of entries within the range whose sign has been constant over the full window
+   */
+
+  int update(double[] current, int from, int to) {
     int converged = 0;
-    for (int v = 0; v < graph.order(); v++) {
+    for (int v = from; v < to; v++) {
       byte sig = (byte) Math.signum(current[v]);
       if (sig == prevSig[v]) {
         constSigTrail[v]++;
@@ -79,7 +93,7 @@ public class ConstantSigTrailConvergence implements PartialConvergenceCriterion
       }
       prevSig[v] = sig;
     }
-    return converged >= threshold;
+    return converged;
   }
 
   /**
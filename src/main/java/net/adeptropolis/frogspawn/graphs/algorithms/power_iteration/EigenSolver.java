@@ -0,0 +1,38 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+/**
+ * Method used for approximating the eigenvector that determines a spectral bisection
+ */
+
+public enum EigenSolver {
+
+  /**
+   * Classic power method (see {@link PowerIteration})
+   */
+
+  POWER_ITERATION,
+
+  /**
+   * Classic power method with fused vector operations and convergence tracking (see {@link FusedPowerIteration})
+   */
+
+  FUSED_POWER_ITERATION,
+
+  /**
+   * Power method with heavy-ball momentum (see {@link MomentumPowerIteration})
+   */
+
+  MOMENTUM_POWER_ITERATION,
+
+  /**
+   * Restarted Lanczos method (see {@link LanczosIteration})
+   */
+
+  LANCZOS
+
+}
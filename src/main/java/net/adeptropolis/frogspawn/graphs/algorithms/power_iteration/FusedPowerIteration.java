@@ -0,0 +1,192 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
+import net.adeptropolis.frogspawn.graphs.traversal.RangeConsumer;
+import net.adeptropolis.frogspawn.graphs.traversal.WorkStealingEdgeOps;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Power method for shifted normalized laplacians with fused vector operations and sign trail convergence</p>
+ * <p>This is equivalent to applying {@link PowerIteration} to a {@link ShiftedNormalizedLaplacian} using
+ * {@link ConstantSigTrailConvergence}, but every iteration only consists of two parallel sweeps over the vertices:</p>
+ * <ol>
+ *   <li>Computing the norm of the previous (unnormalized) result, its projection onto <code>v<sub>0</sub></code> and
+ *   the scaled argument of the adjacency matrix multiplication</li>
+ *   <li>The adjacency matrix multiplication itself, which assembles the next result, updates the sign trail and counts
+ *   converged entries for every range of rows right after it has been computed</li>
+ * </ol>
+ * <p>Normalization is being deferred to the next iteration, as it does not affect the signs of the result. Two vector
+ * buffers are being swapped between iterations, so that no memory is allocated after initialization. Floating-point
+ * reductions are being computed over fixed blocks of vertices and summed in block order, which keeps the result
+ * independent of the number of threads.</p>
+ */
+
+public class FusedPowerIteration {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FusedPowerIteration.class.getSimpleName());
+  static final int BLOCK_SIZE = 4096;
+
+  private final Graph graph;
+  private final double[] v0;
+  private final double[] invSqrtWeights;
+  private final ConstantSigTrailConvergence convergenceCriterion;
+  private final int[] blockBoundaries;
+  private final int[] chunkBoundaries;
+  private final double[] blockSquaredNorms;
+  private final double[] blockProjections;
+  private final double[] argument;
+  private final AtomicInteger converged;
+  private final RangeConsumer projectionKernel;
+  private final RangeConsumer productKernel;
+  private double[] current;
+  private double[] next;
+  private double scale;
+  private double mu;
+
+  /**
+   * Constructor
+   *
+   * @param matrix               Shifted normalized laplacian
+   * @param convergenceCriterion Sign trail convergence criterion for the matrix' graph
+   * @param initialVector        Initial vector
+   */
+
+  private FusedPowerIteration(ShiftedNormalizedLaplacian matrix, ConstantSigTrailConvergence convergenceCriterion,
+                              double[] initialVector) {
+    int n = matrix.size();
+    this.graph = matrix.getGraph();
+    this.v0 = matrix.getV0();
+    this.invSqrtWeights = matrix.getInvSqrtWeights();
+    this.convergenceCriterion = convergenceCriterion;
+    this.blockBoundaries = blockBoundaries(n);
+    this.chunkBoundaries = WorkStealingEdgeOps.chunkBoundaries(graph);
+    this.blockSquaredNorms = new double[blockBoundaries.length - 1];
+    this.blockProjections = new double[blockBoundaries.length - 1];
+    this.argument = new double[n];
+    this.converged = new AtomicInteger();
+    this.projectionKernel = this::project;
+    this.productKernel = this::multiply;
+    this.current = initialVector.clone();
+    this.next = new double[n];
+  }
+
+  /**
+   * <p>Apply the fused power method to a shifted normalized laplacian in order to find the eigenvector associated with
+   * its largest eigenvalue</p>
+   * <p>Note: The initial vector needs to satisfy ||x|| = 1. It will not be modified.</p>
+   *
+   * @param matrix               Shifted normalized laplacian
+   * @param convergenceCriterion Sign trail convergence criterion for the matrix' graph
+   * @param initialVector        Initial vector for the iteration
+   * @param maxIterations        Maximum number of iterations
+   * @return The converged eigenvector
+   * @throws PowerIteration.MaxIterationsExceededException If the maximum number of iterations has been exceeded
+   */
+
+  public static double[] apply(ShiftedNormalizedLaplacian matrix, ConstantSigTrailConvergence convergenceCriterion,
+                               double[] initialVector, int maxIterations) throws PowerIteration.MaxIterationsExceededException {
+    Validate.isTrue(initialVector.length == matrix.size(), "Initial vector length does not match matrix size");
+    FusedPowerIteration iteration = new FusedPowerIteration(matrix, convergenceCriterion, initialVector);
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    for (int i = 0; ; i++) {
+      if (i >= maxIterations) {
+        throw new PowerIteration.MaxIterationsExceededException(String.format("Exceeded maximum number of iterations (%d)", maxIterations));
+      }
+      if (iteration.step()) {
+        stopWatch.stop();
+        LOG.trace("Fused power iteration for size {} finished after {} rounds in {}", matrix.size(), i + 1, stopWatch);
+        Vectors.normalize2(iteration.current);
+        return iteration.current;
+      }
+    }
+  }
+
+  /**
+   * Perform a single iteration
+   *
+   * @return Whether the convergence criterion is satisfied
+   */
+
+  private boolean step() {
+    WorkStealingEdgeOps.traverseRanges(blockBoundaries, projectionKernel);
+    double squaredNorm = 0;
+    double projection = 0;
+    for (int i = 0; i < blockSquaredNorms.length; i++) {
+      squaredNorm += blockSquaredNorms[i];
+      projection += blockProjections[i];
+    }
+    scale = 1.0 / Math.sqrt(squaredNorm);
+    mu = 2 * scale * projection;
+    converged.set(0);
+    WorkStealingEdgeOps.traverseRanges(chunkBoundaries, productKernel);
+    double[] tmp = current;
+    current = next;
+    next = tmp;
+    return converged.get() >= convergenceCriterion.getThreshold();
+  }
+
+  /**
+   * First sweep: Squared norm and <code>v<sub>0</sub></code>-projection of the current vector, scaled argument
+   *
+   * @param from First vertex of a block (inclusive)
+   * @param to   Last vertex of a block (exclusive)
+   */
+
+  private void project(int from, int to) {
+    double squaredNorm = 0;
+    double projection = 0;
+    for (int i = from; i < to; i++) {
+      double x = current[i];
+      squaredNorm += x * x;
+      projection += v0[i] * x;
+      argument[i] = x * invSqrtWeights[i];
+    }
+    int block = from / BLOCK_SIZE;
+    blockSquaredNorms[block] = squaredNorm;
+    blockProjections[block] = projection;
+  }
+
+  /**
+   * Second sweep: Adjacency matrix multiplication, assembly of the next vector and convergence tracking
+   *
+   * @param from First row of a chunk (inclusive)
+   * @param to   Last row of a chunk (exclusive)
+   */
+
+  private void multiply(int from, int to) {
+    graph.multiplyAdjacency(from, to, argument, next);
+    for (int i = from; i < to; i++) {
+      next[i] = scale * (current[i] + next[i] * invSqrtWeights[i]) - mu * v0[i];
+    }
+    converged.addAndGet(convergenceCriterion.update(next, from, to));
+  }
+
+  /**
+   * @param n Number of vertices
+   * @return Boundaries of consecutive blocks of <code>BLOCK_SIZE</code> vertices
+   */
+
+  static int[] blockBoundaries(int n) {
+    int numBlocks = Math.max(1, (n + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    int[] boundaries = new int[numBlocks + 1];
+    for (int i = 0; i < numBlocks; i++) {
+      boundaries[i] = i * BLOCK_SIZE;
+    }
+    boundaries[numBlocks] = n;
+    return boundaries;
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.matrices.SquareMatrix;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Restarted Lanczos method for symmetric matrices, supporting the same convergence criteria as
+ * {@link PowerIteration}</p>
+ * <p>Starting from the initial vector, an orthonormal basis of the Krylov subspace is being built up to
+ * <code>basisSize</code> vectors (using full reorthogonalization). After every matrix multiplication, the Ritz vector
+ * belonging to the largest Ritz value is being handed to the convergence criterion just like the current iterate of
+ * the power method. The first step of every cycle reports the plain power iterate instead. Once the basis is full,
+ * the process is being restarted using the current Ritz vector. Consecutive iterates are being oriented such that
+ * they point into the same direction.</p>
+ * <p>On matrices with small spectral gaps, this requires far fewer matrix multiplications than the power method, at
+ * the expense of keeping <code>basisSize</code> vectors in memory.</p>
+ */
+
+public class LanczosIteration {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LanczosIteration.class.getSimpleName());
+  private static final double BREAKDOWN_THRESHOLD = 1E-12;
+
+  private LanczosIteration() {
+  }
+
+  /**
+   * <p>Apply the Lanczos method to a symmetric square matrix to find the eigenvector associated with its largest
+   * eigenvalue</p>
+   * <p>Note: The initial vector needs to satisfy ||x|| = 1</p>
+   *
+   * @param matrix               Symmetric matrix
+   * @param convergenceCriterion A given convergence criterion
+   * @param initialVector        Initial vector
+   * @param maxIterations        Maximum number of matrix multiplications
+   * @param basisSize            Maximum size of the Krylov basis before restarting. Must be at least 2
+   * @return The converged eigenvector
+   * @throws PowerIteration.MaxIterationsExceededException If the maximum number of iterations has been exceeded
+   * @see ConvergenceCriterion
+   */
+
+  public static double[] apply(SquareMatrix matrix, ConvergenceCriterion convergenceCriterion, double[] initialVector,
+                               int maxIterations, int basisSize) throws PowerIteration.MaxIterationsExceededException {
+    Validate.isTrue(basisSize >= 2, "Lanczos basis needs to hold at least 2 vectors");
+    int n = matrix.size();
+    double[][] basis = new double[Math.min(basisSize, Math.max(n, 1))][];
+    double[] alpha = new double[basis.length];
+    double[] beta = new double[basis.length];
+    double[] previous = new double[n];
+    double[] current = initialVector.clone();
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    int i = 0;
+    while (true) {
+      basis[0] = current.clone();
+      for (int j = 0; j < basis.length; j++) {
+        if (i >= maxIterations) {
+          throw new PowerIteration.MaxIterationsExceededException(String.format("Exceeded maximum number of iterations (%d)", maxIterations));
+        }
+        double[] w = matrix.multiply(basis[j]).clone();
+        System.arraycopy(current, 0, previous, 0, n);
+        if (j == 0) {
+          current = orient(w.clone(), previous);
+        }
+        alpha[j] = Vectors.scalarProduct(w, basis[j]);
+        beta[j] = reorthogonalize(w, basis, j);
+        if (j > 0) {
+          current = orient(ritzVector(basis, alpha, beta, j + 1), previous);
+        }
+        if (convergenceCriterion.satisfied(previous, current, i++)) {
+          stopWatch.stop();
+          LOG.trace("Lanczos iteration for size {} finished after {} rounds in {}", n, i, stopWatch);
+          return current;
+        }
+        if (beta[j] < BREAKDOWN_THRESHOLD || j + 1 == basis.length) {
+          break;
+        }
+        for (int k = 0; k < n; k++) {
+          w[k] /= beta[j];
+        }
+        basis[j + 1] = w;
+      }
+    }
+  }
+
+  /**
+   * Orthogonalize a vector against the first <code>j + 1</code> basis vectors. Gram-Schmidt is being applied twice
+   * in order to retain orthogonality in floating point arithmetic.
+   *
+   * @param w     Vector. Will be modified
+   * @param basis Orthonormal basis
+   * @param j     Index of the last valid basis vector
+   * @return Norm of the orthogonalized vector
+   */
+
+  private static double reorthogonalize(double[] w, double[][] basis, int j) {
+    for (int pass = 0; pass < 2; pass++) {
+      for (int k = 0; k <= j; k++) {
+        double proj = Vectors.scalarProduct(w, basis[k]);
+        double[] q = basis[k];
+        for (int l = 0; l < w.length; l++) {
+          w[l] -= proj * q[l];
+        }
+      }
+    }
+    return Vectors.norm2(w);
+  }
+
+  /**
+   * Compute the Ritz vector belonging to the largest Ritz value
+   *
+   * @param basis Krylov basis
+   * @param alpha Diagonal of the tridiagonal projection
+   * @param beta  Off-diagonal of the tridiagonal projection
+   * @param size  Number of valid basis vectors
+   * @return Ritz vector
+   */
+
+  private static double[] ritzVector(double[][] basis, double[] alpha, double[] beta, int size) {
+    double[] coefficients = largestEigenvector(alpha, beta, size);
+    double[] ritz = new double[basis[0].length];
+    for (int k = 0; k < size; k++) {
+      double c = coefficients[k];
+      double[] q = basis[k];
+      for (int l = 0; l < ritz.length; l++) {
+        ritz[l] += c * q[l];
+      }
+    }
+    return ritz;
+  }
+
+  /**
+   * Normalize a vector in-place such that it points into the same direction as a reference
+   *
+   * @param v         A vector
+   * @param reference Reference vector
+   * @return <code>v</code>
+   */
+
+  private static double[] orient(double[] v, double[] reference) {
+    double sig = Vectors.scalarProduct(v, reference) < 0 ? -1 : 1;
+    double scale = sig / Vectors.norm2(v);
+    for (int i = 0; i < v.length; i++) {
+      v[i] *= scale;
+    }
+    return v;
+  }
+
+  /**
+   * Compute the eigenvector of the largest eigenvalue of a symmetric tridiagonal matrix
+   *
+   * @param alpha Diagonal
+   * @param beta  Off-diagonal, i.e. <code>beta[i]</code> couples rows <code>i</code> and <code>i + 1</code>
+   * @param size  Matrix size
+   * @return Normalized eigenvector
+   */
+
+  static double[] largestEigenvector(double[] alpha, double[] beta, int size) {
+    double[] d = new double[size];
+    double[] e = new double[size];
+    double[][] z = new double[size][size];
+    System.arraycopy(alpha, 0, d, 0, size);
+    System.arraycopy(beta, 0, e, 0, size - 1);
+    for (int i = 0; i < size; i++) {
+      z[i][i] = 1;
+    }
+    tql2(d, e, z);
+    int max = 0;
+    for (int i = 1; i < size; i++) {
+      if (d[i] > d[max]) {
+        max = i;
+      }
+    }
+    double[] eigenvector = new double[size];
+    for (int i = 0; i < size; i++) {
+      eigenvector[i] = z[i][max];
+    }
+    return eigenvector;
+  }
+
+  /**
+   * Implicit QL algorithm for symmetric tridiagonal matrices, derived from the EISPACK routine <code>tql2</code>
+   *
+   * @param d Diagonal. Will contain the (unordered) eigenvalues
+   * @param e Off-diagonal with <code>e[n - 1] = 0</code>. Will be destroyed
+   * @param z Identity matrix. Will contain the eigenvectors as columns
+   */
+
+  private static void tql2(double[] d, double[] e, double[][] z) {
+    int n = d.length;
+    double f = 0;
+    double tst1 = 0;
+    double eps = Math.ulp(1.0);
+    for (int l = 0; l < n; l++) {
+      tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+      int m = l;
+      while (m < n - 1 && Math.abs(e[m]) > eps * tst1) {
+        m++;
+      }
+      if (m > l) {
+        do {
+          double g = d[l];
+          double p = (d[l + 1] - g) / (2 * e[l]);
+          double r = Math.hypot(p, 1);
+          if (p < 0) {
+            r = -r;
+          }
+          d[l] = e[l] / (p + r);
+          d[l + 1] = e[l] * (p + r);
+          double dl1 = d[l + 1];
+          double h = g - d[l];
+          for (int i = l + 2; i < n; i++) {
+            d[i] -= h;
+          }
+          f += h;
+          p = d[m];
+          double c = 1;
+          double c2 = c;
+          double c3 = c;
+          double el1 = e[l + 1];
+          double s = 0;
+          double s2 = 0;
+          for (int i = m - 1; i >= l; i--) {
+            c3 = c2;
+            c2 = c;
+            s2 = s;
+            g = c * e[i];
+            h = c * p;
+            r = Math.hypot(p, e[i]);
+            e[i + 1] = s * r;
+            s = e[i] / r;
+            c = p / r;
+            p = c * d[i] - s * g;
+            d[i + 1] = h + s * (c * g + s * d[i]);
+            for (int k = 0; k < n; k++) {
+              h = z[k][i + 1];
+              z[k][i + 1] = s * z[k][i] + c * h;
+              z[k][i] = c * z[k][i] - s * h;
+            }
+          }
+          p = -s * s2 * c3 * el1 * e[l] / dl1;
+          e[l] = s * p;
+          d[l] = c * p;
+        } while (Math.abs(e[l]) > eps * tst1);
+      }
+      d[l] += f;
+      e[l] = 0;
+    }
+  }
+
+}
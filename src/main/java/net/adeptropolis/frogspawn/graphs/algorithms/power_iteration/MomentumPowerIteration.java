@@ -0,0 +1,89 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.matrices.SquareMatrix;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Power method with heavy-ball momentum for symmetric matrices with non-negative spectrum</p>
+ * <p>Every iteration computes <code>x<sub>i+1</sub> = Ax<sub>i</sub> - βx<sub>i-1</sub></code>. Eigenvector components
+ * whose eigenvalues are smaller than <code>2√β</code> are being damped at a rate of <code>√β</code>, whereas the
+ * largest eigenvalue still dominates as long as it exceeds <code>2√β</code>. This is essentially a Chebyshev
+ * filter of increasing degree and converges at a rate depending on the square root of the spectral gap instead of the
+ * gap itself.</p>
+ * <p>As the spectrum is not known in advance, the damping cutoff <code>2√β</code> is being set to a fixed fraction
+ * (<code>momentum</code>) of the current Rayleigh quotient, which never exceeds the largest eigenvalue. Choosing a
+ * momentum close to <code>λ<sub>2</sub> / λ<sub>1</sub></code> yields the best results, while <code>0</code>
+ * falls back to the plain power method. The cost per iteration is a single matrix multiplication, just like
+ * {@link PowerIteration}, and all of its convergence criteria may be used as well.</p>
+ */
+
+public class MomentumPowerIteration {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MomentumPowerIteration.class.getSimpleName());
+
+  private MomentumPowerIteration() {
+  }
+
+  /**
+   * <p>Apply the momentum-accelerated power method to a symmetric matrix with non-negative eigenvalues in order to
+   * find the eigenvector associated with its largest eigenvalue</p>
+   * <p>Note: The initial vector needs to satisfy ||x|| = 1</p>
+   *
+   * @param matrix               Matrix
+   * @param convergenceCriterion A given convergence criterion for the iteration
+   * @param initialVector        Initial vector for the iteration
+   * @param maxIterations        Maximum number of iterations
+   * @param momentum             Damping cutoff relative to the largest eigenvalue. Needs to be within <code>[0, 1)</code>
+   * @return The converged eigenvector
+   * @throws PowerIteration.MaxIterationsExceededException If the maximum number of iterations has been exceeded
+   * @see ConvergenceCriterion
+   */
+
+  public static double[] apply(SquareMatrix matrix, ConvergenceCriterion convergenceCriterion, double[] initialVector,
+                               int maxIterations, double momentum) throws PowerIteration.MaxIterationsExceededException {
+    Validate.isTrue(momentum >= 0 && momentum < 1, "Momentum must be within [0, 1)");
+    int n = matrix.size();
+    double[] previous = new double[n];
+    double[] x = initialVector.clone();
+    double[] next = new double[n];
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    for (int i = 0; ; i++) {
+      if (i >= maxIterations) {
+        throw new PowerIteration.MaxIterationsExceededException(String.format("Exceeded maximum number of iterations (%d)", maxIterations));
+      }
+      double[] y = matrix.multiply(x);
+      double cutoff = momentum * Math.max(0, Vectors.scalarProduct(x, y));
+      double beta = cutoff * cutoff / 4;
+      for (int k = 0; k < n; k++) {
+        next[k] = y[k] - beta * previous[k];
+      }
+      double scale = 1.0 / Vectors.norm2(next);
+      for (int k = 0; k < n; k++) {
+        next[k] *= scale;
+      }
+      if (convergenceCriterion.satisfied(x, next, i)) {
+        stopWatch.stop();
+        LOG.trace("Momentum power iteration for size {} finished after {} rounds in {}", n, i + 1, stopWatch);
+        return next;
+      }
+      for (int k = 0; k < n; k++) {
+        x[k] *= scale;
+      }
+      double[] tmp = previous;
+      previous = x;
+      x = next;
+      next = tmp;
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+
+/**
+ * <p>Source of initial vectors derived from the eigenvector of a parent graph</p>
+ * <p>Instead of starting every bisection from a random vector, the parent's (approximate) eigenvector may be restricted
+ * to any of its subgraphs. Within a partition, all entries of the parent's eigenvector share the same sign, but their
+ * magnitudes still carry information about the structure of the partition. Restriction is therefore being applied to
+ * the generalized eigenvector <code>D<sup>-½</sup>v</code>, which is then rescaled using the subgraph's vertex weights
+ * and orthogonalized against the subgraph's trivial eigenvector <code>v<sub>0</sub></code>.</p>
+ */
+
+public class WarmStartVector {
+
+  private static final double MIN_RELATIVE_NORM = 1E-6;
+
+  private final Graph graph;
+  private final double[] generalized;
+
+  /**
+   * Constructor
+   *
+   * @param graph       The parent graph
+   * @param weights     Vertex weights of the parent graph
+   * @param eigenvector Eigenvector of the parent graph's shifted normalized laplacian
+   */
+
+  public WarmStartVector(Graph graph, double[] weights, double[] eigenvector) {
+    this.graph = graph;
+    this.generalized = new double[eigenvector.length];
+    for (int i = 0; i < eigenvector.length; i++) {
+      generalized[i] = (weights[i] > 0) ? eigenvector[i] / Math.sqrt(weights[i]) : 0;
+    }
+  }
+
+  /**
+   * Restrict the parent's eigenvector to a subgraph
+   *
+   * @param subgraph Subgraph of the parent graph
+   * @return Normalized initial vector for the subgraph or <code>null</code> if the parent's eigenvector does not
+   * provide any information beyond the subgraph's trivial eigenvector
+   */
+
+  public double[] restrict(Graph subgraph) {
+    if (subgraph.order() < 2) {
+      return null;
+    }
+    double[] weights = subgraph.weights();
+    double[] iv = new double[subgraph.order()];
+    VertexIterator it = subgraph.vertexIterator();
+    while (it.hasNext()) {
+      int parentId = graph.localVertexId(it.globalId());
+      iv[it.localId()] = Math.sqrt(weights[it.localId()]) * generalized[parentId];
+    }
+    double norm = Vectors.norm2(iv);
+    double totalWeight = subgraph.totalWeight();
+    double proj = 0;
+    for (int i = 0; i < iv.length; i++) {
+      proj += iv[i] * Math.sqrt(weights[i]);
+    }
+    proj /= totalWeight;
+    for (int i = 0; i < iv.length; i++) {
+      iv[i] -= proj * Math.sqrt(weights[i]);
+    }
+    double residualNorm = Vectors.norm2(iv);
+    if (!(residualNorm > MIN_RELATIVE_NORM * norm)) {
+      return null;
+    }
+    Vectors.normalize2(iv);
+    return iv;
+  }
+
+}
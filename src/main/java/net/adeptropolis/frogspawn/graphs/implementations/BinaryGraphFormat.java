@@ -0,0 +1,374 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigFloats;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.CompressedInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.QuantizedDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.UnitDoubles;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Native binary file format for sparse graphs</p>
+ * <p>Graphs stored in this format can be loaded without any deserialization: Edges and weights are directly mapped
+ * into memory, and only the vertex pointers are copied onto the heap. All numbers are little-endian and all sections
+ * are aligned to 8 bytes.</p>
+ *
+ * <table>
+ *   <caption>File layout</caption>
+ *   <tr><th>Offset</th><th>Type</th><th>Content</th></tr>
+ *   <tr><td>0</td><td>8 bytes</td><td>Magic number <code>FROGCSR\0</code></td></tr>
+ *   <tr><td>8</td><td>int</td><td>Format version (currently 1)</td></tr>
+ *   <tr><td>12</td><td>int</td><td>Flags. Bit 0 is set for symmetric datastores, bit 1 for compressed edges and bits 2-3
+ *   hold the ordinal of the {@link WeightStorage}. All other bits are reserved</td></tr>
+ *   <tr><td>16</td><td>long</td><td>Graph order <code>n</code></td></tr>
+ *   <tr><td>24</td><td>long</td><td>Graph size <code>m</code> (i.e. number of directed edges)</td></tr>
+ *   <tr><td>32</td><td>long</td><td>Offset of the pointer section: <code>n + 1</code> longs</td></tr>
+ *   <tr><td>40</td><td>long</td><td>Offset of the edge section: <code>m</code> ints</td></tr>
+ *   <tr><td>48</td><td>long</td><td>Offset of the weight section: <code>m</code> doubles</td></tr>
+ *   <tr><td>56</td><td>long</td><td>Offset of the labeling section or 0 if there is none</td></tr>
+ *   <tr><td>64</td><td>long</td><td>Length of the labeling section in bytes</td></tr>
+ *   <tr><td>72</td><td>-</td><td>Reserved up to <code>HEADER_SIZE</code></td></tr>
+ * </table>
+ *
+ * <p>The pointer, edge and weight sections contain the respective arrays of the graph's {@link CSRDatastore}. The
+ * optional labeling section holds an arbitrary Java-serialized object, usually the labeling of a labeled graph.</p>
+ * <p>Edges and weights are always stored in full precision. Compressed edges and weights with reduced precision are
+ * decoded when writing and re-encoded onto the heap when loading, so that only the remaining raw sections stay
+ * memory-mapped.</p>
+ */
+
+public final class BinaryGraphFormat {
+
+  static final int HEADER_SIZE = 128;
+  static final int VERSION = 1;
+  static final int FLAG_SYMMETRIC = 1;
+  static final int FLAG_COMPRESSED_EDGES = 1 << 1;
+  private static final int WEIGHT_STORAGE_SHIFT = 2;
+  private static final int WEIGHT_STORAGE_MASK = 3;
+  private static final byte[] MAGIC = "FROGCSR\0".getBytes(StandardCharsets.US_ASCII);
+  private static final int POINTER_CHUNK_SIZE = 1 << 26;
+
+  private BinaryGraphFormat() {
+  }
+
+  /**
+   * Write a graph to file
+   *
+   * @param graph    A sparse graph
+   * @param labeling Optional labeling. May be <code>null</code>
+   * @param file     Output file
+   */
+
+  public static void write(SparseGraph graph, Object labeling, File file) {
+    write(graph.datastore(), labeling, file);
+  }
+
+  /**
+   * Load a graph by mapping its edges and weights into memory. The file must not be modified while the graph is in use.
+   * Compressed edges and weights with reduced precision are being restored on the heap.
+   *
+   * @param file Input file
+   * @return Graph backed by the input file
+   */
+
+  public static SparseGraph read(File file) {
+    return new SparseGraph(readDatastore(file));
+  }
+
+  /**
+   * Read the labeling section
+   *
+   * @param file Input file
+   * @param <T>  Labeling type
+   * @return The stored labeling or <code>null</code> if the file does not contain any
+   */
+
+  @SuppressWarnings("unchecked")
+  public static <T> T readLabeling(File file) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      Header header = readHeader(channel);
+      if (header.labelingOffset == 0) {
+        return null;
+      }
+      channel.position(header.labelingOffset);
+      InputStream is = new BufferedInputStream(Channels.newInputStream(channel));
+      try (ObjectInputStream ois = new ObjectInputStream(is)) {
+        return (T) ois.readObject();
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      throw new GraphStorageException(e);
+    }
+  }
+
+  /**
+   * Write a datastore to file
+   *
+   * @param datastore Graph datastore
+   * @param labeling  Optional labeling. May be <code>null</code>
+   * @param file      Output file
+   */
+
+  static void write(CSRDatastore datastore, Object labeling, File file) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      Header header = new Header(datastore.order(), datastore.size(), flags(datastore));
+      byte[] labelingBytes = serialize(labeling);
+      if (labelingBytes != null) {
+        header.labelingOffset = align(header.weightsOffset + header.size * Double.BYTES);
+        header.labelingLength = labelingBytes.length;
+        channel.write(ByteBuffer.wrap(labelingBytes), header.labelingOffset);
+      }
+      channel.write(header.encode(), 0);
+      // Empty graphs come without any pointers, but the format always requires n + 1 of them
+      long[] pointers = datastore.pointers.length > header.order ? datastore.pointers : new long[header.order + 1];
+      writePointers(channel, header.pointersOffset, pointers);
+      OffHeapInts.map(channel, header.edgesOffset, header.size, FileChannel.MapMode.READ_WRITE).copyFrom(datastore.edges);
+      OffHeapDoubles.map(channel, header.weightsOffset, header.size, FileChannel.MapMode.READ_WRITE).copyFrom(datastore.weights);
+    } catch (IOException e) {
+      throw new GraphStorageException(e);
+    }
+  }
+
+  /**
+   * Map a datastore into memory
+   *
+   * @param file Input file
+   * @return New datastore
+   */
+
+  static CSRDatastore readDatastore(File file) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      Header header = readHeader(channel);
+      long[] pointers = readPointers(channel, header.pointersOffset, header.order + 1);
+      OffHeapInts edges = OffHeapInts.map(channel, header.edgesOffset, header.size, FileChannel.MapMode.READ_ONLY);
+      OffHeapDoubles weights = OffHeapDoubles.map(channel, header.weightsOffset, header.size, FileChannel.MapMode.READ_ONLY);
+      CSRDatastore datastore = new CSRDatastore(header.order, header.size, pointers, edges, weights,
+              (header.flags & FLAG_SYMMETRIC) != 0);
+      if ((header.flags & FLAG_COMPRESSED_EDGES) != 0) {
+        datastore = datastore.compressed();
+      }
+      WeightStorage storage = WeightStorage.values()[(header.flags >>> WEIGHT_STORAGE_SHIFT) & WEIGHT_STORAGE_MASK];
+      return (storage == WeightStorage.DOUBLE) ? datastore : datastore.withWeightStorage(storage);
+    } catch (IOException e) {
+      throw new GraphStorageException(e);
+    }
+  }
+
+  /**
+   * @param datastore Graph datastore
+   * @return Header flags describing the layout and storage backends of the datastore
+   */
+
+  private static int flags(CSRDatastore datastore) {
+    int flags = datastore.symmetric() ? FLAG_SYMMETRIC : 0;
+    if (datastore.edges instanceof CompressedInts) {
+      flags |= FLAG_COMPRESSED_EDGES;
+    }
+    return flags | (weightStorage(datastore).ordinal() << WEIGHT_STORAGE_SHIFT);
+  }
+
+  /**
+   * @param datastore Graph datastore
+   * @return Storage precision of the datastore's weights
+   */
+
+  private static WeightStorage weightStorage(CSRDatastore datastore) {
+    if (datastore.weights instanceof BigFloats) {
+      return WeightStorage.FLOAT;
+    } else if (datastore.weights instanceof QuantizedDoubles) {
+      return WeightStorage.QUANTIZED;
+    } else if (datastore.weights instanceof UnitDoubles) {
+      return WeightStorage.UNIT;
+    }
+    return WeightStorage.DOUBLE;
+  }
+
+  /**
+   * Write the pointer section
+   *
+   * @param channel  Output channel
+   * @param offset   Section offset
+   * @param pointers Vertex pointers
+   * @throws IOException If the section could not be mapped
+   */
+
+  private static void writePointers(FileChannel channel, long offset, long[] pointers) throws IOException {
+    for (int start = 0; start < pointers.length; start += POINTER_CHUNK_SIZE) {
+      int len = Math.min(POINTER_CHUNK_SIZE, pointers.length - start);
+      LongBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset + (long) start * Long.BYTES, (long) len * Long.BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+      buffer.put(pointers, start, len);
+    }
+  }
+
+  /**
+   * Read the pointer section onto the heap
+   *
+   * @param channel Input channel
+   * @param offset  Section offset
+   * @param length  Number of pointers
+   * @return Vertex pointers
+   * @throws IOException If the section could not be mapped
+   */
+
+  private static long[] readPointers(FileChannel channel, long offset, int length) throws IOException {
+    long[] pointers = new long[length];
+    for (int start = 0; start < length; start += POINTER_CHUNK_SIZE) {
+      int len = Math.min(POINTER_CHUNK_SIZE, length - start);
+      LongBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset + (long) start * Long.BYTES, (long) len * Long.BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+      buffer.get(pointers, start, len);
+    }
+    return pointers;
+  }
+
+  /**
+   * Read and validate the file header
+   *
+   * @param channel Input channel
+   * @return Header
+   * @throws IOException If the header could not be read
+   */
+
+  private static Header readHeader(FileChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, buffer.position()) < 0) {
+        throw new GraphStorageException("Truncated graph file header");
+      }
+    }
+    buffer.flip();
+    return Header.decode(buffer);
+  }
+
+  /**
+   * Serialize the labeling
+   *
+   * @param labeling Labeling. May be <code>null</code>
+   * @return Serialized labeling or <code>null</code>
+   * @throws IOException If serialization failed
+   */
+
+  private static byte[] serialize(Object labeling) throws IOException {
+    if (labeling == null) {
+      return null;
+    }
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+      oos.writeObject(labeling);
+    }
+    return bos.toByteArray();
+  }
+
+  /**
+   * @param offset File offset
+   * @return Next multiple of 8 greater or equal to offset
+   */
+
+  private static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+
+  /**
+   * File header
+   */
+
+  private static class Header {
+
+    private final int order;
+    private final long size;
+    private final int flags;
+    private final long pointersOffset;
+    private final long edgesOffset;
+    private final long weightsOffset;
+    private long labelingOffset = 0;
+    private long labelingLength = 0;
+
+    /**
+     * Create a new header, computing all section offsets
+     *
+     * @param order Graph order
+     * @param size  Graph size
+     * @param flags Flags
+     */
+
+    Header(int order, long size, int flags) {
+      this(order, size, flags, HEADER_SIZE,
+              HEADER_SIZE + (order + 1L) * Long.BYTES,
+              align(HEADER_SIZE + (order + 1L) * Long.BYTES + size * Integer.BYTES));
+    }
+
+    private Header(int order, long size, int flags, long pointersOffset, long edgesOffset, long weightsOffset) {
+      this.order = order;
+      this.size = size;
+      this.flags = flags;
+      this.pointersOffset = pointersOffset;
+      this.edgesOffset = edgesOffset;
+      this.weightsOffset = weightsOffset;
+    }
+
+    /**
+     * @return Binary representation of this header
+     */
+
+    ByteBuffer encode() {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.put(MAGIC)
+              .putInt(VERSION)
+              .putInt(flags)
+              .putLong(order)
+              .putLong(size)
+              .putLong(pointersOffset)
+              .putLong(edgesOffset)
+              .putLong(weightsOffset)
+              .putLong(labelingOffset)
+              .putLong(labelingLength);
+      buffer.clear();
+      return buffer;
+    }
+
+    /**
+     * Decode and validate a binary header
+     *
+     * @param buffer Buffer containing the header
+     * @return Decoded header
+     */
+
+    static Header decode(ByteBuffer buffer) {
+      byte[] magic = new byte[MAGIC.length];
+      buffer.get(magic);
+      for (int i = 0; i < MAGIC.length; i++) {
+        if (magic[i] != MAGIC[i]) {
+          throw new GraphStorageException("Not a binary graph file");
+        }
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new GraphStorageException(String.format("Unsupported binary graph format version %d", version));
+      }
+      int flags = buffer.getInt();
+      int order = (int) buffer.getLong();
+      long size = buffer.getLong();
+      Header header = new Header(order, size, flags, buffer.getLong(), buffer.getLong(), buffer.getLong());
+      header.labelingOffset = buffer.getLong();
+      header.labelingLength = buffer.getLong();
+      return header;
+    }
+
+  }
+
+}
@@ -5,9 +5,17 @@
 
 package net.adeptropolis.frogspawn.graphs.implementations;
 
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigDoubleArray;
 import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigDoubles;
-import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigFloats;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigIntArray;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.CompressedInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.QuantizedDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.UnitDoubles;
 
+import java.io.File;
 import java.io.Serializable;
 
 /**
@@ -19,6 +27,13 @@ import java.io.Serializable;
  * Wikipedia: Compressed sparse row (CSR, CRS or Yale format)
  * </a>
  * </p>
+ * <p>Edges and weights may either live on the Java heap or off-heap (see {@link #offHeap()} and
+ * {@link #memoryMapped(File)}). Edges may also be compressed (see {@link #compressed()}) and weights may be stored
+ * with reduced precision (see {@link #withWeightStorage(WeightStorage)}). Graph implementations are agnostic to these
+ * choices.</p>
+ * <p>Symmetric datastores only hold the lower triangle of the adjacency matrix, i.e. for every vertex <code>v</code>
+ * only edges <code>(v, u)</code> with <code>u ≤ v</code> are being stored. This halves the memory footprint of
+ * undirected graphs. It is up to the graph implementations to expand the missing edges on the fly.</p>
  *
  * @see SparseGraphBuilder
  */
@@ -28,10 +43,11 @@ public class CSRDatastore implements Serializable {
   static final long serialVersionUID = 5572670833943799413L;
 
   public final long[] pointers;
-  public final BigInts edges;
-  public final BigDoubles weights;
+  public final BigIntArray edges;
+  public final BigDoubleArray weights;
   private final int order;
   private final long size;
+  private final boolean symmetric;
 
   /**
    * Constructor
@@ -43,12 +59,28 @@ public class CSRDatastore implements Serializable {
    * @param weights  Edge weights
    */
 
-  CSRDatastore(int order, long size, long[] pointers, BigInts edges, BigDoubles weights) {
+  CSRDatastore(int order, long size, long[] pointers, BigIntArray edges, BigDoubleArray weights) {
+    this(order, size, pointers, edges, weights, false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param order     Number of vertices
+   * @param size      Number of stored edges
+   * @param pointers  Vertex pointers
+   * @param edges     Right endpoints of all edges
+   * @param weights   Edge weights
+   * @param symmetric Whether only the lower triangle of the adjacency matrix is being stored
+   */
+
+  CSRDatastore(int order, long size, long[] pointers, BigIntArray edges, BigDoubleArray weights, boolean symmetric) {
     this.order = order;
     this.size = size;
     this.pointers = pointers;
     this.edges = edges;
     this.weights = weights;
+    this.symmetric = symmetric;
   }
 
   /**
@@ -60,11 +92,159 @@ public class CSRDatastore implements Serializable {
   }
 
   /**
-   * @return Number of edges
+   * @return Number of stored edges. For symmetric datastores, this is less than the number of directed edges.
    */
 
   long size() {
     return size;
   }
 
+  /**
+   * @return Whether only the lower triangle of the adjacency matrix is being stored
+   */
+
+  boolean symmetric() {
+    return symmetric;
+  }
+
+  /**
+   * Find the first edge of a row whose right endpoint is greater or equal to a given vertex
+   *
+   * @param key  Vertex id
+   * @param low  First edge pointer of the row (inclusive)
+   * @param high Last edge pointer of the row (exclusive)
+   * @return Pointer to the first matching edge or <code>high</code> if there is none
+   */
+
+  long lowerBound(int key, long low, long high) {
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (edges.get(mid) < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Create a copy of this datastore whose edges and weights reside in direct (off-heap) memory
+   *
+   * @return New datastore
+   */
+
+  CSRDatastore offHeap() {
+    return new CSRDatastore(order, size, pointers, OffHeapInts.copyOf(edges), OffHeapDoubles.copyOf(weights), symmetric);
+  }
+
+  /**
+   * Create a copy of this datastore whose edges are gap-encoded (see {@link CompressedInts}). Weights are being shared.
+   *
+   * @return New datastore
+   */
+
+  CSRDatastore compressed() {
+    return new CSRDatastore(order, size, pointers, CompressedInts.copyOf(edges), weights, symmetric);
+  }
+
+  /**
+   * Create a copy of this datastore with a different weight storage. Pointers and edges are being shared.
+   *
+   * @param storage Weight storage
+   * @return New datastore
+   */
+
+  CSRDatastore withWeightStorage(WeightStorage storage) {
+    return new CSRDatastore(order, size, pointers, edges, convertWeights(storage), symmetric);
+  }
+
+  /**
+   * @param storage Weight storage
+   * @return A copy of the weights using the given storage
+   */
+
+  private BigDoubleArray convertWeights(WeightStorage storage) {
+    switch (storage) {
+      case FLOAT:
+        return BigFloats.copyOf(weights);
+      case QUANTIZED:
+        return QuantizedDoubles.copyOf(weights);
+      case UNIT:
+        return new UnitDoubles(weights.size());
+      default:
+        BigDoubles doubles = new BigDoubles(weights.size());
+        for (long i = 0; i < weights.size(); i++) {
+          doubles.set(i, weights.get(i));
+        }
+        return doubles;
+    }
+  }
+
+  /**
+   * Create a copy of this datastore whose edges and weights use the same storage backends as those of another
+   * datastore. Memory-mapped backends are being replaced by direct memory.
+   *
+   * @param template Datastore whose storage backends should be used
+   * @return New datastore or this instance if both datastores already use the same backends
+   */
+
+  CSRDatastore withStorageOf(CSRDatastore template) {
+    BigIntArray convertedEdges = convertEdges(template.edges);
+    BigDoubleArray convertedWeights = convertWeights(template.weights);
+    if (convertedEdges == edges && convertedWeights == weights) {
+      return this;
+    }
+    return new CSRDatastore(order, size, pointers, convertedEdges, convertedWeights, symmetric);
+  }
+
+  /**
+   * @param template Edges of another datastore
+   * @return A copy of the edges using the storage of the template or the edges themselves if no conversion is required
+   */
+
+  private BigIntArray convertEdges(BigIntArray template) {
+    if (template instanceof CompressedInts && !(edges instanceof CompressedInts)) {
+      return CompressedInts.copyOf(edges);
+    } else if (template instanceof OffHeapInts && !(edges instanceof OffHeapInts)) {
+      return OffHeapInts.copyOf(edges);
+    }
+    return edges;
+  }
+
+  /**
+   * @param template Weights of another datastore
+   * @return A copy of the weights using the storage of the template or the weights themselves if no conversion is
+   * required
+   */
+
+  private BigDoubleArray convertWeights(BigDoubleArray template) {
+    if (template.getClass() == weights.getClass()) {
+      return weights;
+    } else if (template instanceof OffHeapDoubles) {
+      return OffHeapDoubles.copyOf(weights);
+    } else if (template instanceof BigFloats) {
+      return convertWeights(WeightStorage.FLOAT);
+    } else if (template instanceof QuantizedDoubles) {
+      return convertWeights(WeightStorage.QUANTIZED);
+    } else if (template instanceof UnitDoubles) {
+      return convertWeights(WeightStorage.UNIT);
+    }
+    return weights;
+  }
+
+  /**
+   * Create a copy of this datastore whose edges and weights are backed by a memory-mapped file.
+   * The file is written in {@link BinaryGraphFormat} and may later be reloaded using {@link BinaryGraphFormat#read(File)}.
+   * Compressed edges and weights with reduced precision keep their storage and therefore remain on the heap.
+   *
+   * @param file File to be (over-)written. Must not be modified as long as the new datastore is in use
+   * @return New datastore
+   */
+
+  CSRDatastore memoryMapped(File file) {
+    BinaryGraphFormat.write(this, null, file);
+    return BinaryGraphFormat.readDatastore(file);
+  }
+
 }
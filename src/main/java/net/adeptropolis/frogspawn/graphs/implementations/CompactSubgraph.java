@@ -0,0 +1,291 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntIterators;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.InterpolationSearch;
+import net.adeptropolis.frogspawn.graphs.traversal.EdgeConsumer;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
+
+import java.io.Serializable;
+
+/**
+ * <p>A materialized subgraph</p>
+ * <p>In contrast to {@link SparseSubgraph}, which resolves its edges by searching the datastore of the root graph upon
+ * every traversal, instances of this class hold their own copy of the induced subgraph in a compact CSR datastore
+ * indexed by local vertex ids. Traversals are therefore plain sequential scans, which pays off for subgraphs that
+ * are being traversed many times (e.g. during power iteration). Further subgraphs refer to the root datastore again.</p>
+ *
+ * @see SparseSubgraph#materialize()
+ */
+
+public class CompactSubgraph extends Graph implements Serializable {
+
+  static final long serialVersionUID = 6104928553026409861L;
+
+  private final CSRDatastore rootDatastore;
+  private final int[] vertices;
+  private final SparseGraph local;
+  private transient volatile VertexIndex vertexIndex;
+
+  /**
+   * Constructor
+   *
+   * @param rootDatastore Datastore of the root graph
+   * @param vertices      Sorted global vertex ids
+   * @param local         Induced subgraph using local vertex ids
+   */
+
+  private CompactSubgraph(CSRDatastore rootDatastore, int[] vertices, SparseGraph local) {
+    this.rootDatastore = rootDatastore;
+    this.vertices = vertices;
+    this.local = local;
+  }
+
+  /**
+   * Materialize the induced subgraph of a sparse subgraph. Subgraphs with symmetric storage remain symmetric, and the
+   * edges and weights of the copy use the same storage backends as the root datastore (see
+   * {@link CSRDatastore#withStorageOf(CSRDatastore)}).
+   *
+   * @param subgraph      Subgraph
+   * @param rootDatastore Datastore of the root graph
+   * @param vertices      Sorted global vertex ids of the subgraph
+   * @return New compact subgraph
+   */
+
+  static CompactSubgraph of(SparseSubgraph subgraph, CSRDatastore rootDatastore, int[] vertices) {
+    boolean symmetric = rootDatastore.symmetric();
+    TraversalMode mode = symmetric ? TraversalMode.LOWER_TRIANGULAR : TraversalMode.DEFAULT;
+    int order = subgraph.order();
+    long[] pointers = new long[order + 1];
+    long expectedSize = 1;
+    for (int v = 0; v < order; v++) {
+      expectedSize += subgraph.traversalCost(v) - 1;
+    }
+    RowCollector collector = new RowCollector(expectedSize);
+    for (int v = 0; v < order; v++) {
+      subgraph.traverseIncidentEdges(v, collector, mode);
+      pointers[v + 1] = collector.size;
+    }
+    collector.edges.resize(collector.size);
+    collector.weights.resize(collector.size);
+    CSRDatastore datastore = new CSRDatastore(order, collector.size, pointers, collector.edges, collector.weights, symmetric)
+            .withStorageOf(rootDatastore);
+    return new CompactSubgraph(rootDatastore, vertices, new SparseGraph(datastore));
+  }
+
+  /**
+   * @return The datastore holding the induced subgraph
+   */
+
+  CSRDatastore datastore() {
+    return local.datastore();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long size() {
+    return local.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public VertexIterator vertexIterator() {
+    return new CompactSubgraphVertexIterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public int[] collectVertices() {
+    return vertices.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public IntIterator globalVertexIdIterator() {
+    return IntIterators.wrap(vertices);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public int order() {
+    return vertices.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public void traverseIncidentEdges(int v, EdgeConsumer consumer, TraversalMode mode) {
+    local.traverseIncidentEdges(v, consumer, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public void traverseRange(int from, int to, EdgeConsumer consumer, TraversalMode mode) {
+    local.traverseRange(from, to, consumer, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public void multiplyAdjacency(int from, int to, double[] argument, double[] result) {
+    local.multiplyAdjacency(from, to, argument, result);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long traversalCost(int v) {
+    return local.traversalCost(v);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public boolean symmetricStorage() {
+    return local.symmetricStorage();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public int globalVertexId(int localVertexId) {
+    return vertices[localVertexId];
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>Subgraphs with at least <code>VertexIndex.MIN_ORDER</code> vertices build a {@link VertexIndex} upon their
+   * first lookup, making all further lookups constant-time.</p>
+   */
+
+  @Override
+  public int localVertexId(int globalVertexId) {
+    if (order() < VertexIndex.MIN_ORDER) {
+      return InterpolationSearch.search(vertices, globalVertexId, 0, order() - 1);
+    }
+    VertexIndex index = vertexIndex;
+    if (index == null) {
+      index = new VertexIndex(vertices);
+      vertexIndex = index;
+    }
+    return index.localId(globalVertexId);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public Graph subgraph(IntIterator vertices) {
+    return new SparseSubgraph(rootDatastore, vertices);
+  }
+
+  /**
+   * Collects edges row by row, translating them into local CSR entries
+   */
+
+  private static class RowCollector implements EdgeConsumer {
+
+    private final BigInts edges;
+    private final BigDoubles weights;
+    private long size;
+
+    /**
+     * Constructor
+     *
+     * @param initialSize Initial capacity
+     */
+
+    RowCollector(long initialSize) {
+      this.edges = new BigInts(initialSize);
+      this.weights = new BigDoubles(initialSize);
+    }
+
+    @Override
+    public void accept(int u, int v, double weight) {
+      edges.set(size, v);
+      weights.set(size, weight);
+      size++;
+    }
+
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  public class CompactSubgraphVertexIterator implements VertexIterator {
+
+    private int localId;
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public boolean hasNext() {
+      if (localId == vertices.length) {
+        return false;
+      }
+      localId++;
+      return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public int localId() {
+      return localId - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public int globalId() {
+      return vertices[localId - 1];
+    }
+
+  }
+
+}
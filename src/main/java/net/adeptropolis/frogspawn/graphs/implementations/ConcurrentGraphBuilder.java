@@ -0,0 +1,146 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigInts;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Thread-safe graph builder for multiple concurrent producers</p>
+ * <p>Every producer thread appends its edges to a private buffer without any synchronization. All buffers are merged
+ * into a pre-sized {@link SparseGraphBuilder} upon calling {@link #build()}.</p>
+ * <p><b>Note:</b> Callers need to ensure that all producers have finished (e.g. by joining the producer threads or
+ * awaiting the termination of their executor) before calling {@link #build()}. Instances may only be built once.
+ * Any further call to {@link #build()} or {@link #add(int, int, double)} throws an {@link IllegalStateException}.</p>
+ */
+
+public class ConcurrentGraphBuilder implements Graph.Builder {
+
+  private static final long INITIAL_CHUNK_SIZE = 1 << 17;
+
+  private final Queue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Chunk> localChunk = ThreadLocal.withInitial(this::newChunk);
+  private final AtomicBoolean built = new AtomicBoolean();
+
+  /**
+   * Add a new undirected edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  @SuppressWarnings("squid:S2234")
+  public ConcurrentGraphBuilder add(int u, int v, double weight) {
+    addDirected(u, v, weight);
+    if (u != v) addDirected(v, u, weight);
+    return this;
+  }
+
+  /**
+   * Add a new directed edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  public ConcurrentGraphBuilder addDirected(int u, int v, double weight) {
+    if (weight < 0) {
+      throw new GraphConstructionException("Tried to add an edge with negative weight");
+    }
+    if (built.get()) {
+      throw new IllegalStateException("Tried to add an edge to a builder that has already been built");
+    }
+    localChunk.get().add(u, v, weight);
+    return this;
+  }
+
+  /**
+   * Merge all thread-local buffers and build the graph
+   *
+   * @return A new immutable Graph instance
+   * @throws IllegalStateException if this builder has already been built
+   */
+
+  @Override
+  public SparseGraph build() {
+    if (!built.compareAndSet(false, true)) {
+      throw new IllegalStateException("Builder has already been built");
+    }
+    long size = chunks.stream().mapToLong(chunk -> chunk.ptr).sum();
+    SparseGraphBuilder builder = new SparseGraphBuilder(size);
+    Chunk chunk;
+    while ((chunk = chunks.poll()) != null) {
+      chunk.drainTo(builder);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Create and register a new buffer for the current thread
+   *
+   * @return New chunk
+   */
+
+  private Chunk newChunk() {
+    Chunk chunk = new Chunk();
+    chunks.add(chunk);
+    return chunk;
+  }
+
+  /**
+   * Edge buffer owned by a single producer thread
+   */
+
+  private static class Chunk {
+
+    private BigInts left = new BigInts(INITIAL_CHUNK_SIZE);
+    private BigInts right = new BigInts(INITIAL_CHUNK_SIZE);
+    private BigDoubles weights = new BigDoubles(INITIAL_CHUNK_SIZE);
+    private long ptr = 0L;
+
+    /**
+     * Append a directed edge
+     *
+     * @param u      left vertex
+     * @param v      right vertex
+     * @param weight edge weight
+     */
+
+    void add(int u, int v, double weight) {
+      left.set(ptr, u);
+      right.set(ptr, v);
+      weights.set(ptr++, weight);
+    }
+
+    /**
+     * Move all edges into another builder and release the buffers
+     *
+     * @param builder Target builder
+     */
+
+    void drainTo(SparseGraphBuilder builder) {
+      for (long i = 0; i < ptr; i++) {
+        builder.addDirected(left.get(i), right.get(i), weights.get(i));
+      }
+      left = null;
+      right = null;
+      weights = null;
+    }
+
+  }
+
+}
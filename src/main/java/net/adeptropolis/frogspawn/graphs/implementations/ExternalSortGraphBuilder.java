@@ -0,0 +1,591 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigInts;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <p>Build new graph instances from huge, heavily duplicated edge streams</p>
+ * <p>In contrast to {@link SparseGraphBuilder}, this builder only holds a bounded buffer of edges in memory. Whenever
+ * this buffer is full, its contents are sorted by source vertex using a parallel radix sort, duplicate edges are
+ * reduced and the resulting sorted run is spilled to disk. Finally, all runs are merged while streaming straight into
+ * the CSR arrays of the new graph, again aggregating the weights of duplicate edges.</p>
+ * <p>Every buffered edge requires 16 bytes of heap. The merged graph itself must still fit into memory.
+ * Instances are meant to be used only once.</p>
+ */
+
+public class ExternalSortGraphBuilder implements Graph.Builder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExternalSortGraphBuilder.class.getSimpleName());
+  private static final int IO_BUFFER_SIZE = 1 << 16;
+  private static final int MAX_FAN_IN = 64;
+
+  private final long[] keys;
+  private final long[] weights;
+  private final File tmpDir;
+  private final List<File> runs = new ArrayList<>();
+  private int ptr = 0;
+  private long numSpilled = 0L;
+  private int maxLeftVertex = -1;
+
+  /**
+   * Constructor. Spilled runs are stored in the default temporary-file directory.
+   *
+   * @param bufferSize Maximum number of edges being held in memory
+   */
+
+  public ExternalSortGraphBuilder(int bufferSize) {
+    this(bufferSize, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param bufferSize Maximum number of edges being held in memory
+   * @param tmpDir     Directory for spilled runs. If <code>null</code>, the default temporary-file directory is used
+   */
+
+  public ExternalSortGraphBuilder(int bufferSize, File tmpDir) {
+    Validate.isTrue(bufferSize > 0, "Buffer size must be positive");
+    this.keys = new long[bufferSize];
+    this.weights = new long[bufferSize];
+    this.tmpDir = tmpDir;
+  }
+
+  /**
+   * Add a new undirected edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  @SuppressWarnings("squid:S2234")
+  public ExternalSortGraphBuilder add(int u, int v, double weight) {
+    addDirected(u, v, weight);
+    if (u != v) addDirected(v, u, weight);
+    return this;
+  }
+
+  /**
+   * Add a new directed edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  public ExternalSortGraphBuilder addDirected(int u, int v, double weight) {
+    if (weight < 0) {
+      throw new GraphConstructionException("Tried to add an edge with negative weight");
+    }
+    if (ptr == keys.length) {
+      spill();
+    }
+    keys[ptr] = key(u, v);
+    weights[ptr++] = Double.doubleToRawLongBits(weight);
+    maxLeftVertex = Math.max(maxLeftVertex, u);
+    return this;
+  }
+
+  /**
+   * Build the graph
+   *
+   * @return A new immutable Graph instance
+   */
+
+  @Override
+  public SparseGraph build() {
+    return new SparseGraph(buildDatastore(new CSRSink(maxLeftVertex + 1)));
+  }
+
+  /**
+   * Merge all runs and the remaining buffer into the given sink
+   *
+   * @param sink Sink receiving the merged edges. Must cover all vertices that have been added so far.
+   * @return New datastore
+   */
+
+  CSRDatastore buildDatastore(CSRSink sink) {
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    sortBuffer();
+    try {
+      reduceNumRuns();
+      List<Run> sources = openRuns(runs);
+      sources.add(new BufferRun());
+      merge(sources, sink);
+      CSRDatastore datastore = sink.finish();
+      stopWatch.stop();
+      LOG.info("Finished building graph with {} vertices and {} edges from {} spilled runs in {}",
+              datastore.order(), datastore.size(), runs.size(), stopWatch);
+      return datastore;
+    } catch (IOException e) {
+      throw new GraphStorageException(e);
+    } finally {
+      runs.forEach(File::delete);
+      runs.clear();
+    }
+  }
+
+
+  /**
+   * Repeatedly merge groups of spilled runs until there are no more than <code>MAX_FAN_IN</code> left
+   *
+   * @throws IOException If a run could not be read or written
+   */
+
+  private void reduceNumRuns() throws IOException {
+    while (runs.size() > MAX_FAN_IN) {
+      List<File> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+      runs.subList(0, MAX_FAN_IN).clear();
+      File file = newRunFile();
+      try (FileSink sink = new FileSink(file)) {
+        merge(openRuns(group), sink);
+      }
+      group.forEach(File::delete);
+    }
+  }
+
+  /**
+   * Merge a number of sorted runs, aggregating the weights of duplicate edges. All runs are closed afterwards.
+   *
+   * @param sources Sorted and reduced runs
+   * @param sink    Consumer for the merged edges
+   * @throws IOException If a run could not be read or the sink could not be written
+   */
+
+  private static void merge(List<Run> sources, EdgeSink sink) throws IOException {
+    try {
+      PriorityQueue<Run> queue = new PriorityQueue<>(Math.max(1, sources.size()), Comparator.comparingLong(Run::key));
+      for (Run run : sources) {
+        if (run.next()) queue.add(run);
+      }
+      while (!queue.isEmpty()) {
+        Run run = queue.poll();
+        long key = run.key();
+        double weight = run.weight();
+        if (run.next()) queue.add(run);
+        while (!queue.isEmpty() && queue.peek().key() == key) {
+          Run duplicate = queue.poll();
+          weight += duplicate.weight();
+          if (duplicate.next()) queue.add(duplicate);
+        }
+        sink.accept(key, weight);
+      }
+    } finally {
+      close(sources);
+    }
+  }
+
+  /**
+   * Open a number of spilled runs
+   *
+   * @param files Run files
+   * @return Readable runs
+   * @throws IOException If a file could not be opened
+   */
+
+  private static List<Run> openRuns(List<File> files) throws IOException {
+    List<Run> sources = new ArrayList<>(files.size() + 1);
+    try {
+      for (File file : files) {
+        sources.add(new FileRun(file));
+      }
+    } catch (IOException e) {
+      close(sources);
+      throw e;
+    }
+    return sources;
+  }
+
+  /**
+   * @return A new temporary run file
+   * @throws IOException If the file could not be created
+   */
+
+  private File newRunFile() throws IOException {
+    File file = File.createTempFile("frogspawn-run-", ".bin", tmpDir);
+    file.deleteOnExit();
+    runs.add(file);
+    return file;
+  }
+
+  /**
+   * Sort and reduce the buffer, then write its contents to a new run file
+   */
+
+  private void spill() {
+    StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+    sortBuffer();
+    try (FileSink sink = new FileSink(newRunFile())) {
+      for (int i = 0; i < ptr; i++) {
+        sink.accept(keys[i], Double.longBitsToDouble(weights[i]));
+      }
+    } catch (IOException e) {
+      throw new GraphStorageException(e);
+    }
+    numSpilled += ptr;
+    stopWatch.stop();
+    LOG.debug("Spilled run of {} edges in {}", ptr, stopWatch);
+    ptr = 0;
+  }
+
+  /**
+   * Sort the buffer by (1) left vertex (2) right vertex and reduce multiple occurrences of an edge to a single instance
+   * with accumulated weights
+   */
+
+  private void sortBuffer() {
+    if (ptr == 0) return;
+    LongArrays.parallelRadixSort(keys, weights, 0, ptr);
+    int writePtr = 0;
+    for (int i = 1; i < ptr; i++) {
+      if (keys[i] == keys[writePtr]) {
+        weights[writePtr] = Double.doubleToRawLongBits(Double.longBitsToDouble(weights[writePtr]) + Double.longBitsToDouble(weights[i]));
+      } else {
+        writePtr++;
+        keys[writePtr] = keys[i];
+        weights[writePtr] = weights[i];
+      }
+    }
+    ptr = writePtr + 1;
+  }
+
+  /**
+   * Close all runs, ignoring any errors
+   *
+   * @param sources Runs
+   */
+
+  private static void close(List<Run> sources) {
+    for (Run run : sources) {
+      try {
+        run.close();
+      } catch (IOException e) {
+        LOG.warn("Unable to close run", e);
+      }
+    }
+  }
+
+  /**
+   * @param u Left vertex
+   * @param v Right vertex
+   * @return Sort key of the edge (u, v)
+   */
+
+  private static long key(int u, int v) {
+    return ((long) u << 32) | (v & 0xFFFFFFFFL);
+  }
+
+  /**
+   * @param key Edge sort key
+   * @return Left vertex of the edge
+   */
+
+  private static int leftVertex(long key) {
+    return (int) (key >>> 32);
+  }
+
+  /**
+   * @param key Edge sort key
+   * @return Right vertex of the edge
+   */
+
+  private static int rightVertex(long key) {
+    return (int) key;
+  }
+
+  /**
+   * Consumer for sorted edges
+   */
+
+  private interface EdgeSink {
+
+    /**
+     * Accept a new edge. Edges need to arrive in sorted order.
+     *
+     * @param key    Edge sort key
+     * @param weight Edge weight
+     * @throws IOException If the edge could not be written
+     */
+
+    void accept(long key, double weight) throws IOException;
+
+  }
+
+  /**
+   * Sink streaming sorted edges into the CSR arrays of a new datastore
+   */
+
+  static class CSRSink implements EdgeSink {
+
+    private static final long GROWTH_STEP = 1L << BigInts.BIN_BITS;
+
+    private final int order;
+    private final long[] pointers;
+    private final BigInts edges;
+    private final BigDoubles weights;
+    private long capacity = GROWTH_STEP;
+    private long size = 0;
+    private int prevVertex = 0;
+
+    /**
+     * Constructor. The edge arrays start out with a single bin and grow by one bin at a time, such that their capacity
+     * follows the number of distinct edges instead of the (possibly heavily duplicated) number of spilled ones.
+     *
+     * @param order Number of vertices
+     */
+
+    CSRSink(int order) {
+      this.order = order;
+      this.pointers = new long[order + 1];
+      this.edges = new BigInts(capacity);
+      this.weights = new BigDoubles(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public void accept(long key, double weight) {
+      int u = leftVertex(key);
+      for (int j = prevVertex + 1; j <= u; j++) pointers[j] = size;
+      prevVertex = Math.max(prevVertex, u);
+      if (size == capacity) {
+        capacity += GROWTH_STEP;
+        edges.resize(capacity);
+        weights.resize(capacity);
+      }
+      edges.set(size, rightVertex(key));
+      weights.set(size++, weight);
+    }
+
+    /**
+     * Fill the remaining pointers and shrink the edge arrays down to their minimum size
+     *
+     * @return New datastore
+     */
+
+    CSRDatastore finish() {
+      for (int j = prevVertex + 1; j <= order; j++) pointers[j] = size;
+      edges.resize(size);
+      weights.resize(size);
+      return new CSRDatastore(order, size, pointers, edges, weights);
+    }
+
+    /**
+     * @return Number of edges the sink can currently hold without growing
+     */
+
+    long capacity() {
+      return capacity;
+    }
+
+  }
+
+  /**
+   * Sink writing sorted edges to a run file
+   */
+
+  private static class FileSink implements EdgeSink, Closeable {
+
+    private final DataOutputStream out;
+
+    /**
+     * Constructor
+     *
+     * @param file Run file
+     * @throws IOException If the file could not be opened
+     */
+
+    FileSink(File file) throws IOException {
+      this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public void accept(long key, double weight) throws IOException {
+      out.writeLong(key);
+      out.writeLong(Double.doubleToRawLongBits(weight));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+
+  }
+
+  /**
+   * A sorted and reduced sequence of edges
+   */
+
+  private interface Run extends Closeable {
+
+    /**
+     * Advance to the next edge
+     *
+     * @return <code>false</code> if the run has been exhausted, else <code>true</code>
+     * @throws IOException If the run could not be read
+     */
+
+    boolean next() throws IOException;
+
+    /**
+     * @return Sort key of the current edge
+     */
+
+    long key();
+
+    /**
+     * @return Weight of the current edge
+     */
+
+    double weight();
+
+  }
+
+  /**
+   * Run residing in the in-memory buffer
+   */
+
+  private class BufferRun implements Run {
+
+    private int idx = -1;
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public boolean next() {
+      return ++idx < ptr;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public long key() {
+      return keys[idx];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public double weight() {
+      return Double.longBitsToDouble(weights[idx]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public void close() {
+      // Nothing to do here
+    }
+
+  }
+
+  /**
+   * Run that has been spilled to disk
+   */
+
+  private static class FileRun implements Run {
+
+    private final DataInputStream in;
+    private final long length;
+    private long idx = 0;
+    private long key;
+    private double weight;
+
+    /**
+     * Constructor
+     *
+     * @param file Run file
+     * @throws IOException If the file could not be opened
+     */
+
+    FileRun(File file) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE));
+      this.length = file.length() / (2 * Long.BYTES);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public boolean next() throws IOException {
+      if (idx++ == length) {
+        return false;
+      }
+      key = in.readLong();
+      weight = Double.longBitsToDouble(in.readLong());
+      return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public long key() {
+      return key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public double weight() {
+      return weight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+}
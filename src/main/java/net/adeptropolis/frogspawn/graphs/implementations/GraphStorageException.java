@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+public class GraphStorageException extends RuntimeException {
+
+  public GraphStorageException(Throwable cause) {
+    super(cause);
+  }
+
+  public GraphStorageException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleMap;
+import it.unimi.dsi.fastutil.longs.Long2DoubleMaps;
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>Build new graph instances from heavily duplicated edge streams</p>
+ * <p>Repeated occurrences of the same edge are summed up on the fly in a bounded primitive hash map. Only once this
+ * map reaches its capacity, the pre-aggregated edges are handed over to a pre-sized {@link SparseGraphBuilder}.
+ * Hence, the edge buffer of the latter only needs to hold (approximately) the number of distinct edges instead of the
+ * full input stream.</p>
+ */
+
+public class PreAggregatingGraphBuilder implements Graph.Builder {
+
+  private final SparseGraphBuilder builder;
+  private final Long2DoubleOpenHashMap buffer;
+  private final int bufferCapacity;
+
+  /**
+   * Constructor
+   *
+   * @param expectedSize   Expected number of distinct directed edges of the final graph
+   * @param bufferCapacity Maximum number of distinct directed edges being pre-aggregated at once
+   */
+
+  public PreAggregatingGraphBuilder(long expectedSize, int bufferCapacity) {
+    Validate.isTrue(bufferCapacity > 0, "Buffer capacity must be positive");
+    this.builder = new SparseGraphBuilder(expectedSize);
+    this.buffer = new Long2DoubleOpenHashMap(bufferCapacity);
+    this.bufferCapacity = bufferCapacity;
+  }
+
+  /**
+   * Add a new undirected edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  @SuppressWarnings("squid:S2234")
+  public PreAggregatingGraphBuilder add(int u, int v, double weight) {
+    addDirected(u, v, weight);
+    if (u != v) addDirected(v, u, weight);
+    return this;
+  }
+
+  /**
+   * Add a new directed edge to the graph.
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   * @return this
+   */
+
+  @Override
+  public PreAggregatingGraphBuilder addDirected(int u, int v, double weight) {
+    if (weight < 0) {
+      throw new GraphConstructionException("Tried to add an edge with negative weight");
+    }
+    buffer.addTo(((long) u << 32) | (v & 0xFFFFFFFFL), weight);
+    if (buffer.size() >= bufferCapacity) {
+      flush();
+    }
+    return this;
+  }
+
+  /**
+   * Build the graph
+   *
+   * @return A new immutable Graph instance
+   */
+
+  @Override
+  public SparseGraph build() {
+    flush();
+    return builder.build();
+  }
+
+  /**
+   * Hand over all pre-aggregated edges to the underlying builder
+   */
+
+  private void flush() {
+    for (Long2DoubleMap.Entry entry : Long2DoubleMaps.fastIterable(buffer)) {
+      long key = entry.getLongKey();
+      builder.addDirected((int) (key >>> 32), (int) key, entry.getDoubleValue());
+    }
+    buffer.clear();
+  }
+
+}
@@ -9,9 +9,13 @@ import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntIterators;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.CompressedInts;
 import net.adeptropolis.frogspawn.graphs.traversal.EdgeConsumer;
 import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -23,6 +27,7 @@ public class SparseGraph extends Graph implements Serializable {
   static final long serialVersionUID = 3908340146557361096L;
 
   private final CSRDatastore datastore;
+  private transient long cachedSize = -1L;
 
   /**
    * Constructor
@@ -44,13 +49,135 @@ public class SparseGraph extends Graph implements Serializable {
     return new SparseGraphBuilder();
   }
 
+  /**
+   * Create a new builder whose edge buffer is sized in advance
+   *
+   * @param expectedSize Expected number of directed edges
+   * @return A new builder instance
+   */
+
+  public static SparseGraphBuilder builder(long expectedSize) {
+    return new SparseGraphBuilder(expectedSize);
+  }
+
+  /**
+   * Create a builder for graphs that only store the lower triangle of their adjacency matrix
+   *
+   * @return A new builder instance
+   */
+
+  public static SparseGraphBuilder symmetricBuilder() {
+    return new SparseGraphBuilder(SparseGraphBuilder.INITIAL_SIZE, true);
+  }
+
+  /**
+   * Create a builder for graphs that only store the lower triangle of their adjacency matrix
+   *
+   * @param expectedSize Expected number of undirected edges
+   * @return A new builder instance
+   */
+
+  public static SparseGraphBuilder symmetricBuilder(long expectedSize) {
+    return new SparseGraphBuilder(expectedSize, true);
+  }
+
+  /**
+   * @return The underlying datastore
+   */
+
+  CSRDatastore datastore() {
+    return datastore;
+  }
+
+  /**
+   * Move edges and weights of this graph out of the Java heap
+   *
+   * @return A new graph instance whose edges and weights reside in direct memory
+   */
+
+  public SparseGraph offHeap() {
+    return new SparseGraph(datastore.offHeap());
+  }
+
+  /**
+   * Move edges and weights of this graph into a memory-mapped file, leaving it to the OS page cache to keep them in memory.
+   * Compressed edges (see {@link #compressed()}) and weights with reduced precision (see
+   * {@link #withWeightStorage(WeightStorage)}) keep their storage, but remain on the heap. Only raw edges and
+   * double-precision weights are actually being mapped.
+   *
+   * @param file Backing file. Will be overwritten and must not be modified as long as the new graph is in use
+   * @return A new graph instance backed by the given file
+   */
+
+  public SparseGraph memoryMapped(File file) {
+    return new SparseGraph(datastore.memoryMapped(file));
+  }
+
+  /**
+   * <p>Compress the edges of this graph using gap encoding (see {@link CompressedInts})</p>
+   * <p>Whole-graph and per-vertex traversals decode every adjacency list sequentially. Subgraphs of the returned graph
+   * also operate on the compressed edges, but those of them that rely on searching within adjacency lists
+   * are noticeably slower than their uncompressed counterparts.</p>
+   *
+   * @return A new graph instance with compressed edges
+   */
+
+  public SparseGraph compressed() {
+    return new SparseGraph(datastore.compressed());
+  }
+
+  /**
+   * Store the edge weights of this graph with a different precision (see {@link WeightStorage})
+   *
+   * @param storage Weight storage
+   * @return A new graph instance sharing its edges with this one
+   */
+
+  public SparseGraph withWeightStorage(WeightStorage storage) {
+    return new SparseGraph(datastore.withWeightStorage(storage));
+  }
+
   /**
    * {@inheritDoc}
    */
 
   @Override
   public long size() {
-    return datastore.edges.size();
+    if (cachedSize < 0) {
+      cachedSize = datastore.symmetric() ? 2 * datastore.size() - countSelfLoops() : datastore.size();
+    }
+    return cachedSize;
+  }
+
+  /**
+   * Post-deserialization actions: The cached size is not part of the serialized form and needs to be recomputed
+   *
+   * @param in Object input stream
+   * @throws IOException            IOException
+   * @throws ClassNotFoundException ClassNotFoundException
+   */
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    cachedSize = -1L;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long traversalCost(int v) {
+    return datastore.pointers[v + 1] - datastore.pointers[v] + 1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public boolean symmetricStorage() {
+    return datastore.symmetric();
   }
 
   /**
@@ -102,13 +229,81 @@ public class SparseGraph extends Graph implements Serializable {
 
     long low = datastore.pointers[v];
     long high = datastore.pointers[v + 1];
-    if (low == high) {
+
+    if (low < high) {
+      traverseRow(v, low, high, consumer, mode);
+    }
+
+    if (datastore.symmetric() && mode == TraversalMode.DEFAULT) {
+      traverseMirrored(v, v + 1, v + 1, consumer);
+    }
+
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>For symmetric storage, every stored edge is being read at most twice, independently of the range boundaries.</p>
+   */
+
+  @Override
+  public void traverseRange(int from, int to, EdgeConsumer consumer, TraversalMode mode) {
+    if (!datastore.symmetric() || mode != TraversalMode.DEFAULT) {
+      super.traverseRange(from, to, consumer, mode);
+      return;
+    }
+    if (from >= to) {
       return;
     }
+    EdgeConsumer mirroringConsumer = (u, v, weight) -> {
+      consumer.accept(u, v, weight);
+      if (v != u && v >= from) {
+        consumer.accept(v, u, weight);
+      }
+    };
+    for (int v = from; v < to; v++) {
+      traverseIncidentEdges(v, mirroringConsumer, TraversalMode.LOWER_TRIANGULAR);
+    }
+    traverseMirrored(from, to, to, consumer);
+  }
 
+  /**
+   * {@inheritDoc}
+   * <p>Walks the CSR rows directly, writing every row of the result exactly once.</p>
+   */
+
+  @Override
+  public void multiplyAdjacency(int from, int to, double[] argument, double[] result) {
+    if (datastore.symmetric()) {
+      super.multiplyAdjacency(from, to, argument, result);
+      return;
+    }
+    long ptr = datastore.pointers[from];
+    IntIterator edges = datastore.edges.iterator(ptr, datastore.pointers[to]);
+    for (int v = from; v < to; v++) {
+      long high = datastore.pointers[v + 1];
+      double sum = 0;
+      for (; ptr < high; ptr++) {
+        sum += datastore.weights.get(ptr) * argument[edges.nextInt()];
+      }
+      result[v] = sum;
+    }
+  }
+
+  /**
+   * Traverse the stored edges of a single row
+   *
+   * @param v        Left endpoint
+   * @param low      Initial edge pointer
+   * @param high     Maximum edge pointer (exclusive!)
+   * @param consumer An instance of <code>EdgeConsumer</code>
+   * @param mode     Traversal mode
+   */
+
+  private void traverseRow(int v, long low, long high, EdgeConsumer consumer, TraversalMode mode) {
+    IntIterator edges = datastore.edges.iterator(low, high);
     int rightEndpoint;
     for (long ptr = low; ptr < high; ptr++) {
-      rightEndpoint = datastore.edges.get(ptr);
+      rightEndpoint = edges.nextInt();
       if (mode == TraversalMode.LOWER_TRIANGULAR && v < rightEndpoint) {
         break;
       }
@@ -117,7 +312,51 @@ public class SparseGraph extends Graph implements Serializable {
         break;
       }
     }
+  }
 
+  /**
+   * <p>Expand the upper triangle of a symmetric datastore</p>
+   * <p>Emits all edges <code>(u, v)</code> with <code>from ≤ u &lt; to</code> whose mirror <code>(v, u)</code> is
+   * stored in any row <code>v ≥ firstRow</code>.</p>
+   *
+   * @param from     First left endpoint (inclusive)
+   * @param to       Last left endpoint (exclusive)
+   * @param firstRow First row to be scanned. Must not be smaller than <code>to</code>
+   * @param consumer An instance of <code>EdgeConsumer</code>
+   */
+
+  private void traverseMirrored(int from, int to, int firstRow, EdgeConsumer consumer) {
+    for (int v = firstRow; v < order(); v++) {
+      long low = datastore.pointers[v];
+      long high = datastore.pointers[v + 1];
+      if (low == high || datastore.edges.get(low) >= to || datastore.edges.get(high - 1) < from) {
+        continue;
+      }
+      long start = datastore.lowerBound(from, low, high);
+      IntIterator edges = datastore.edges.iterator(start, high);
+      for (long ptr = start; ptr < high; ptr++) {
+        int u = edges.nextInt();
+        if (u >= to) {
+          break;
+        }
+        consumer.accept(u, v, datastore.weights.get(ptr));
+      }
+    }
+  }
+
+  /**
+   * @return Number of stored self-loops, i.e. diagonal entries of the adjacency matrix
+   */
+
+  private long countSelfLoops() {
+    long selfLoops = 0;
+    for (int v = 0; v < order(); v++) {
+      long high = datastore.pointers[v + 1];
+      if (high > datastore.pointers[v] && datastore.edges.get(high - 1) == v) {
+        selfLoops++;
+      }
+    }
+    return selfLoops;
   }
 
   /**
@@ -19,16 +19,19 @@ import org.slf4j.LoggerFactory;
  * <p>Build new Graph instances</p>
  * <p>This little gizmo creates a new compressed sparse graph from an arbitrary
  * number of (not necessarily unique or sorted) weighted edge triples.</p>
+ * <p>Symmetric builders only store the lower triangle of the adjacency matrix (see {@link CSRDatastore}). They only
+ * accept undirected edges.</p>
  */
 
 public class SparseGraphBuilder implements Graph.Builder {
 
   private static final Logger LOG = LoggerFactory.getLogger(SparseGraphBuilder.class.getSimpleName());
-  private static final long INITIAL_SIZE = 1 << 24;
+  static final long INITIAL_SIZE = 1 << 24;
   private static final long GROW_SIZE = 1 << 24;
-  private final BigInts[] edges = {new BigInts(INITIAL_SIZE), new BigInts(INITIAL_SIZE)};
-  private final BigDoubles weights = new BigDoubles(INITIAL_SIZE);
-  private long size = INITIAL_SIZE;
+  private final BigInts[] edges;
+  private final BigDoubles weights;
+  private final boolean symmetric;
+  private long size;
   private long ptr = 0L;
 
   /**
@@ -36,7 +39,33 @@ public class SparseGraphBuilder implements Graph.Builder {
    */
 
   public SparseGraphBuilder() {
+    this(INITIAL_SIZE);
+  }
+
+  /**
+   * Constructor for a builder whose edge buffer is sized in advance
+   *
+   * @param expectedSize Expected number of directed edges to be added. Note that adding an undirected edge
+   *                     <code>(u, v)</code> with <code>u != v</code> results in two directed edges.
+   */
+
+  public SparseGraphBuilder(long expectedSize) {
+    this(expectedSize, false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param expectedSize Expected number of stored edges. For symmetric builders, every undirected edge is being
+   *                     stored exactly once.
+   * @param symmetric    Whether to only store the lower triangle of the adjacency matrix
+   */
 
+  public SparseGraphBuilder(long expectedSize, boolean symmetric) {
+    this.symmetric = symmetric;
+    this.size = Math.max(1L, expectedSize);
+    this.edges = new BigInts[]{new BigInts(size), new BigInts(size)};
+    this.weights = new BigDoubles(size);
   }
 
   /**
@@ -51,8 +80,12 @@ public class SparseGraphBuilder implements Graph.Builder {
   @Override
   @SuppressWarnings("squid:S2234")
   public SparseGraphBuilder add(int u, int v, double weight) {
-    addDirected(u, v, weight);
-    if (u != v) addDirected(v, u, weight);
+    if (symmetric) {
+      append(Math.max(u, v), Math.min(u, v), weight);
+    } else {
+      append(u, v, weight);
+      if (u != v) append(v, u, weight);
+    }
     return this;
   }
 
@@ -67,11 +100,26 @@ public class SparseGraphBuilder implements Graph.Builder {
 
   @Override
   public Graph.Builder addDirected(int u, int v, double weight) {
+    if (symmetric) {
+      throw new GraphConstructionException("Symmetric graphs do not support directed edges");
+    }
+    append(u, v, weight);
+    return this;
+  }
+
+  /**
+   * Append a new entry to the edge buffer
+   *
+   * @param u      left vertex
+   * @param v      right vertex
+   * @param weight edge weight
+   */
+
+  private void append(int u, int v, double weight) {
     if (weight < 0) {
       throw new GraphConstructionException("Tried to add an edge with negative weight");
     }
     set(ptr++, u, v, weight);
-    return this;
   }
 
   /**
@@ -97,7 +145,7 @@ public class SparseGraphBuilder implements Graph.Builder {
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
     if (ptr == 0L) {
-      return new CSRDatastore(0, 0, new long[0], new BigInts(0), new BigDoubles(0));
+      return new CSRDatastore(0, 0, new long[0], new BigInts(0), new BigDoubles(0), symmetric);
     }
     sort();
     reduce();
@@ -106,7 +154,7 @@ public class SparseGraphBuilder implements Graph.Builder {
     long[] pointers = computePointers(graphSize);
     stopWatch.stop();
     LOG.info("Finished building graph with {} vertices and {} edges in {}", graphSize, ptr, stopWatch);
-    return new CSRDatastore(graphSize, ptr, pointers, edges[1], weights);
+    return new CSRDatastore(graphSize, ptr, pointers, edges[1], weights, symmetric);
   }
 
   /**
@@ -29,6 +29,7 @@ public class SparseSubgraph extends Graph implements Serializable {
   private final CSRDatastore datastore;
   private final int[] vertices;
   private long cachedNumEdges = -1L;
+  private transient volatile VertexIndex vertexIndex;
 
   /**
    * Constructor
@@ -111,15 +112,62 @@ public class SparseSubgraph extends Graph implements Serializable {
     long low = datastore.pointers[globalId];
     long high = datastore.pointers[globalId + 1];
 
-    if (low == high) {
-      return;
+    if (low < high) {
+      if (order() > high - low) {
+        traverseByAdjacent(v, consumer, low, high, mode);
+      } else {
+        traverseByVertices(v, consumer, low, high, mode);
+      }
     }
 
-    if (order() > high - low) {
-      traverseByAdjacent(v, consumer, low, high, mode);
-    } else {
-      traverseByVertices(v, consumer, low, high, mode);
+    if (datastore.symmetric() && mode == TraversalMode.DEFAULT && v + 1 < order()) {
+      traverseMirrored(v, v + 1, v + 1, consumer);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>For symmetric storage, every stored edge is being read at most twice, independently of the range boundaries.</p>
+   */
+
+  @Override
+  public void traverseRange(int from, int to, EdgeConsumer consumer, TraversalMode mode) {
+    if (!datastore.symmetric() || mode != TraversalMode.DEFAULT) {
+      super.traverseRange(from, to, consumer, mode);
+      return;
+    }
+    if (from >= to) {
+      return;
     }
+    EdgeConsumer mirroringConsumer = (u, v, weight) -> {
+      consumer.accept(u, v, weight);
+      if (v != u && v >= from) {
+        consumer.accept(v, u, weight);
+      }
+    };
+    for (int v = from; v < to; v++) {
+      traverseIncidentEdges(v, mirroringConsumer, TraversalMode.LOWER_TRIANGULAR);
+    }
+    traverseMirrored(from, to, to, consumer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long traversalCost(int v) {
+    int globalId = vertices[v];
+    return Math.min(datastore.pointers[globalId + 1] - datastore.pointers[globalId], order()) + 1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public boolean symmetricStorage() {
+    return datastore.symmetric();
   }
 
   /**
@@ -142,11 +190,21 @@ public class SparseSubgraph extends Graph implements Serializable {
 
   /**
    * {@inheritDoc}
+   * <p>Subgraphs with at least <code>VertexIndex.MIN_ORDER</code> vertices build a {@link VertexIndex} upon their
+   * first lookup, making all further lookups constant-time.</p>
    */
 
   @Override
   public int localVertexId(int globalVertexId) {
-    return InterpolationSearch.search(vertices, globalVertexId, 0, order() - 1);
+    if (order() < VertexIndex.MIN_ORDER) {
+      return InterpolationSearch.search(vertices, globalVertexId, 0, order() - 1);
+    }
+    VertexIndex index = vertexIndex;
+    if (index == null) {
+      index = new VertexIndex(vertices);
+      vertexIndex = index;
+    }
+    return index.localId(globalVertexId);
   }
 
   /**
@@ -158,6 +216,87 @@ public class SparseSubgraph extends Graph implements Serializable {
     return new SparseSubgraph(datastore, vertices);
   }
 
+  /**
+   * Copy this subgraph into its own compact datastore (see {@link CompactSubgraph})
+   *
+   * @return A new, materialized instance of this subgraph
+   */
+
+  public CompactSubgraph materialize() {
+    return CompactSubgraph.of(this, datastore, vertices);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>Walks the CSR rows of the underlying datastore directly, writing every row of the result exactly once.</p>
+   */
+
+  @Override
+  public void multiplyAdjacency(int from, int to, double[] argument, double[] result) {
+    if (datastore.symmetric()) {
+      super.multiplyAdjacency(from, to, argument, result);
+      return;
+    }
+    for (int v = from; v < to; v++) {
+      int globalId = vertices[v];
+      long low = datastore.pointers[globalId];
+      long high = datastore.pointers[globalId + 1];
+      if (low == high) {
+        result[v] = 0;
+      } else if (order() > high - low) {
+        result[v] = rowProductByAdjacent(argument, low, high);
+      } else {
+        result[v] = rowProductByVertices(argument, low, high);
+      }
+    }
+  }
+
+  /**
+   * Compute the product of a single row of the adjacency matrix with a vector by the row's non-zero entries
+   *
+   * @param argument Vertex-indexed vector
+   * @param low      Initial edge pointer
+   * @param high     Maximum edge pointer (exclusive!)
+   * @return Row product
+   */
+
+  private double rowProductByAdjacent(double[] argument, long low, long high) {
+    IntIterator edges = datastore.edges.iterator(low, high);
+    double sum = 0;
+    int secPtr = 0;
+    for (long ptr = low; ptr < high; ptr++) {
+      int rightEndpoint = InterpolationSearch.search(vertices, edges.nextInt(), secPtr, order() - 1);
+      if (rightEndpoint >= 0) {
+        sum += datastore.weights.get(ptr) * argument[rightEndpoint];
+        secPtr = rightEndpoint + 1;
+        if (secPtr >= order()) break;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Compute the product of a single row of the adjacency matrix with a vector by the vertex set
+   *
+   * @param argument Vertex-indexed vector
+   * @param low      Initial edge pointer
+   * @param high     Maximum edge pointer (exclusive!)
+   * @return Row product
+   */
+
+  private double rowProductByVertices(double[] argument, long low, long high) {
+    double sum = 0;
+    long ptr = low;
+    for (int i = 0; i < order() && ptr < high; i++) {
+      long retrievedIdx = InterpolationSearch.search(datastore.edges, vertices[i], ptr, high - 1);
+      if (retrievedIdx >= 0) {
+        sum += datastore.weights.get(retrievedIdx) * argument[i];
+        ptr = retrievedIdx + 1;
+      }
+    }
+    return sum;
+  }
+
   /**
    * Traverse all neighbours of a given local vertex by the non-zero entries of the adjacency matrix
    *
@@ -170,12 +309,13 @@ public class SparseSubgraph extends Graph implements Serializable {
 
   private void traverseByAdjacent(final int leftEndpoint, final EdgeConsumer consumer, final long low, final long high, TraversalMode mode) {
 
+    IntIterator edges = datastore.edges.iterator(low, high);
     int secPtr = 0;
     int rightEndpoint;
 
     for (long ptr = low; ptr < high; ptr++) {
 
-      rightEndpoint = InterpolationSearch.search(vertices, datastore.edges.get(ptr), secPtr, order() - 1);
+      rightEndpoint = InterpolationSearch.search(vertices, edges.nextInt(), secPtr, order() - 1);
 
       if (mode == TraversalMode.LOWER_TRIANGULAR && leftEndpoint < rightEndpoint) {
         break;
@@ -222,6 +362,50 @@ public class SparseSubgraph extends Graph implements Serializable {
     }
   }
 
+  /**
+   * <p>Expand the upper triangle of a symmetric datastore</p>
+   * <p>Emits all edges <code>(u, v)</code> with local ids <code>from ≤ u &lt; to</code> whose mirror
+   * <code>(v, u)</code> is stored in any row <code>v ≥ firstRow</code>.</p>
+   *
+   * @param from     First left endpoint (inclusive)
+   * @param to       Last left endpoint (exclusive)
+   * @param firstRow First row to be scanned. Must not be smaller than <code>to</code>
+   * @param consumer An instance of <code>EdgeConsumer</code>
+   */
+
+  private void traverseMirrored(int from, int to, int firstRow, EdgeConsumer consumer) {
+
+    int globalFrom = vertices[from];
+    int globalTo = vertices[to - 1];
+
+    for (int v = firstRow; v < order(); v++) {
+
+      int globalId = vertices[v];
+      long low = datastore.pointers[globalId];
+      long high = datastore.pointers[globalId + 1];
+
+      if (low == high || datastore.edges.get(low) > globalTo || datastore.edges.get(high - 1) < globalFrom) {
+        continue;
+      }
+
+      int secPtr = from;
+      long start = datastore.lowerBound(globalFrom, low, high);
+      IntIterator edges = datastore.edges.iterator(start, high);
+      for (long ptr = start; ptr < high; ptr++) {
+        int rightEndpoint = edges.nextInt();
+        if (rightEndpoint > globalTo) {
+          break;
+        }
+        int u = InterpolationSearch.search(vertices, rightEndpoint, secPtr, to - 1);
+        if (u >= 0) {
+          consumer.accept(u, v, datastore.weights.get(ptr));
+          secPtr = u + 1;
+          if (secPtr >= to) break;
+        }
+      }
+    }
+  }
+
   /**
    * Consumer counting the total number of distinct edges of the graph
    */
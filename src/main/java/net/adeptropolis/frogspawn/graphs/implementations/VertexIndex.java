@@ -0,0 +1,94 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.InterpolationSearch;
+
+/**
+ * <p>Global → local vertex id index for subgraphs</p>
+ * <p>The range of global ids spanned by a sorted vertex array is being split into at most <code>2 × order</code>
+ * equally sized buckets, each pointing to the first local id falling into it. Lookups therefore only need to scan a
+ * single bucket, which typically holds no more than a handful of vertices. For dense vertex sets, buckets degrade to
+ * single ids and the index is effectively a direct mapping. Memory consumption is bounded by
+ * <code>2 × order + 1</code> ints, independently of the root graph's order.</p>
+ */
+
+final class VertexIndex {
+
+  /**
+   * Minimum order of subgraphs that are worth indexing. Smaller ones use plain interpolation search.
+   */
+
+  static final int MIN_ORDER = 1024;
+
+  private static final int MAX_SCAN = 8;
+
+  private final int[] vertices;
+  private final int[] buckets;
+  private final int min;
+  private final long span;
+  private final int shift;
+
+  /**
+   * Constructor
+   *
+   * @param vertices Non-empty, sorted array of distinct global vertex ids
+   */
+
+  VertexIndex(int[] vertices) {
+    this.vertices = vertices;
+    this.min = vertices[0];
+    this.span = (long) vertices[vertices.length - 1] - min + 1;
+    int s = 0;
+    while (((span - 1) >>> s) + 1 > 2L * vertices.length) {
+      s++;
+    }
+    this.shift = s;
+    this.buckets = new int[(int) ((span - 1) >>> shift) + 2];
+    for (int v : vertices) {
+      buckets[bucket(v) + 1]++;
+    }
+    for (int i = 1; i < buckets.length; i++) {
+      buckets[i] += buckets[i - 1];
+    }
+  }
+
+  /**
+   * @param globalId Global vertex id within the range of the index
+   * @return Bucket of the given id
+   */
+
+  private int bucket(int globalId) {
+    return (int) (((long) globalId - min) >>> shift);
+  }
+
+  /**
+   * Lookup a global id
+   *
+   * @param globalId Global vertex id
+   * @return Local vertex id or <code>-1</code> if the given vertex is not part of the vertex set
+   */
+
+  int localId(int globalId) {
+    long offset = (long) globalId - min;
+    if (offset < 0 || offset >= span) {
+      return -1;
+    }
+    int b = (int) (offset >>> shift);
+    int low = buckets[b];
+    int high = buckets[b + 1];
+    if (high - low > MAX_SCAN) {
+      return InterpolationSearch.search(vertices, globalId, low, high - 1);
+    }
+    for (int i = low; i < high; i++) {
+      if (vertices[i] >= globalId) {
+        return vertices[i] == globalId ? i : -1;
+      }
+    }
+    return -1;
+  }
+
+}
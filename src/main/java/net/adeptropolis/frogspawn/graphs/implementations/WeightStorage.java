@@ -0,0 +1,40 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+/**
+ * Storage precision of edge weights
+ *
+ * @see SparseGraph#withWeightStorage(WeightStorage)
+ */
+
+public enum WeightStorage {
+
+  /**
+   * Double precision. 8 bytes per edge.
+   */
+
+  DOUBLE,
+
+  /**
+   * Single precision. 4 bytes per edge.
+   */
+
+  FLOAT,
+
+  /**
+   * Linear 16 bit quantization with a common scale. 2 bytes per edge.
+   */
+
+  QUANTIZED,
+
+  /**
+   * Implicit unit weights for unweighted graphs. All actual weights are being discarded. No storage at all.
+   */
+
+  UNIT
+
+}
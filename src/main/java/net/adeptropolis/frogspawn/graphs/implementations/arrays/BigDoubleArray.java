@@ -0,0 +1,37 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import java.io.Serializable;
+
+/**
+ * Read access to a big (i.e. long-indexed) array of doubles, independent of where the data actually lives.
+ *
+ * @see BigDoubles
+ * @see OffHeapDoubles
+ * @see BigFloats
+ * @see QuantizedDoubles
+ * @see UnitDoubles
+ */
+
+public interface BigDoubleArray extends Serializable {
+
+  /**
+   * Retrieve value
+   *
+   * @param idx Index
+   * @return Value at index idx
+   */
+
+  double get(long idx);
+
+  /**
+   * @return Number of elements
+   */
+
+  long size();
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+import java.io.Serializable;
+
+/**
+ * Read access to a big (i.e. long-indexed) array of ints, independent of where the data actually lives.
+ *
+ * @see BigInts
+ * @see OffHeapInts
+ * @see CompressedInts
+ */
+
+public interface BigIntArray extends Serializable {
+
+  /**
+   * Retrieve value
+   *
+   * @param idx Index
+   * @return Value at index idx
+   */
+
+  int get(long idx);
+
+  /**
+   * @return Number of elements
+   */
+
+  long size();
+
+  /**
+   * Sequentially read a range of values. Implementations that do not support cheap random access should override this.
+   *
+   * @param from First index (inclusive)
+   * @param to   Last index (exclusive)
+   * @return Iterator over all values within the given range
+   */
+
+  default IntIterator iterator(long from, long to) {
+    return new IntIterator() {
+
+      private long idx = from;
+
+      @Override
+      public boolean hasNext() {
+        return idx < to;
+      }
+
+      @Override
+      public int nextInt() {
+        return get(idx++);
+      }
+
+    };
+  }
+
+}
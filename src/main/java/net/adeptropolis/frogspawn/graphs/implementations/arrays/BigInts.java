@@ -18,7 +18,7 @@ import java.util.stream.LongStream;
  * A big (i.e. long-indexed) array of ints.
  */
 
-public class BigInts implements LongComparator, BigSwapper, Serializable {
+public class BigInts implements BigIntArray, LongComparator, BigSwapper, Serializable {
 
   public static final int BIN_BITS = 17;
   private static final int BIN_MASK = (1 << BIN_BITS) - 1;
@@ -122,6 +122,7 @@ public class BigInts implements LongComparator, BigSwapper, Serializable {
    * @return Value at index idx
    */
 
+  @Override
   public int get(long idx) {
     return data[(int) (idx >> BIN_BITS)][(int) (idx & BIN_MASK)];
   }
@@ -185,6 +186,7 @@ public class BigInts implements LongComparator, BigSwapper, Serializable {
    * @return Largest stored index + 1
    */
 
+  @Override
   public long size() {
     return size;
   }
@@ -0,0 +1,290 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>A read-only, compressed big array of ints</p>
+ * <p>Values are being split into blocks of <code>BLOCK_SIZE</code> elements. The first value of every block is being
+ * stored as varint, all subsequent values as zigzag-encoded varint gaps to their predecessor. This is particularly
+ * effective for the concatenated sorted adjacency lists of CSR storage, where most gaps are small and positive.</p>
+ * <p>Sequential reads using {@link #iterator(long, long)} decode every value exactly once. Random access
+ * (see {@link #get(long)}) needs to decode the enclosing block up to the requested index and is therefore
+ * considerably slower than for uncompressed arrays.</p>
+ */
+
+public class CompressedInts implements BigIntArray {
+
+  static final long serialVersionUID = 8301556220634087716L;
+
+  static final int BLOCK_BITS = 6;
+  static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+  private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+  static final int BIN_BITS = 24;
+  private static final int BIN_SIZE = 1 << BIN_BITS;
+  private static final long BIN_MASK = BIN_SIZE - 1L;
+  private static final int MAX_BLOCK_BYTES = 5 * BLOCK_SIZE;
+
+  private final byte[][] bins;
+  private final long[] blockOffsets;
+  private final long size;
+
+  /**
+   * Constructor
+   *
+   * @param bins         Encoded data. Blocks never span multiple bins
+   * @param blockOffsets Byte offsets of all blocks
+   * @param size         Number of elements
+   */
+
+  private CompressedInts(byte[][] bins, long[] blockOffsets, long size) {
+    this.bins = bins;
+    this.blockOffsets = blockOffsets;
+    this.size = size;
+  }
+
+  /**
+   * Create a compressed copy of any big int array
+   *
+   * @param source Source array
+   * @return New instance
+   */
+
+  public static CompressedInts copyOf(BigIntArray source) {
+    long size = source.size();
+    long numBlocks = (size + BLOCK_MASK) >>> BLOCK_BITS;
+    if (numBlocks > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Array too large for compression: " + size);
+    }
+    long[] blockOffsets = new long[(int) numBlocks];
+    Encoder encoder = new Encoder();
+    IntIterator it = source.iterator(0, size);
+    for (long i = 0; i < size; i++) {
+      int value = it.nextInt();
+      if ((i & BLOCK_MASK) == 0) {
+        blockOffsets[(int) (i >>> BLOCK_BITS)] = encoder.startBlock();
+        encoder.writeVarint(value);
+      } else {
+        encoder.writeVarint(zigzag(value - encoder.prev));
+      }
+      encoder.prev = value;
+    }
+    return new CompressedInts(encoder.finish(), blockOffsets, size);
+  }
+
+  /**
+   * Map a signed int onto an unsigned one such that small absolute values yield small results
+   *
+   * @param value Signed value
+   * @return Zigzag-encoded value
+   */
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * Inverse of {@link #zigzag(int)}
+   *
+   * @param value Zigzag-encoded value
+   * @return Signed value
+   */
+
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public int get(long idx) {
+    return new Cursor(idx, idx + 1).nextInt();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public IntIterator iterator(long from, long to) {
+    return new Cursor(from, to);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @return Number of bytes used for the encoded values and block offsets
+   */
+
+  public long encodedBytes() {
+    long bytes = 8L * blockOffsets.length;
+    for (byte[] bin : bins) {
+      bytes += bin.length;
+    }
+    return bytes;
+  }
+
+  /**
+   * Sequential encoder, allocating bins on demand
+   */
+
+  private static class Encoder {
+
+    private final List<byte[]> bins = new ArrayList<>();
+    private byte[] bin;
+    private int pos = BIN_SIZE;
+    private int prev;
+
+    /**
+     * Start a new block, skipping to the next bin if the current one might not be able to hold it
+     *
+     * @return Byte offset of the new block
+     */
+
+    long startBlock() {
+      if (pos + MAX_BLOCK_BYTES > BIN_SIZE) {
+        bin = new byte[BIN_SIZE];
+        bins.add(bin);
+        pos = 0;
+      }
+      return ((long) (bins.size() - 1) << BIN_BITS) + pos;
+    }
+
+    /**
+     * Write an unsigned varint
+     *
+     * @param value Value
+     */
+
+    void writeVarint(int value) {
+      while ((value & ~0x7F) != 0) {
+        bin[pos++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bin[pos++] = (byte) value;
+    }
+
+    /**
+     * Trim the last bin to its actual size
+     *
+     * @return All bins
+     */
+
+    byte[][] finish() {
+      if (!bins.isEmpty()) {
+        bins.set(bins.size() - 1, Arrays.copyOf(bin, pos));
+      }
+      return bins.toArray(new byte[0][]);
+    }
+
+  }
+
+  /**
+   * Sequential decoder for a range of values
+   */
+
+  private class Cursor implements IntIterator {
+
+    private final long to;
+    private long idx;
+    private byte[] bin;
+    private int pos;
+    private int value;
+
+    /**
+     * Constructor
+     *
+     * @param from First index (inclusive)
+     * @param to   Last index (exclusive)
+     */
+
+    Cursor(long from, long to) {
+      this.idx = from;
+      this.to = to;
+      if (from < to && (from & BLOCK_MASK) != 0) {
+        seekBlock(from >>> BLOCK_BITS);
+        value = readVarint();
+        for (long i = (from & ~BLOCK_MASK) + 1; i < from; i++) {
+          value += unzigzag(readVarint());
+        }
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public boolean hasNext() {
+      return idx < to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+
+    @Override
+    public int nextInt() {
+      if (idx >= to) {
+        throw new NoSuchElementException();
+      }
+      if ((idx & BLOCK_MASK) == 0) {
+        seekBlock(idx >>> BLOCK_BITS);
+        value = readVarint();
+      } else {
+        value += unzigzag(readVarint());
+      }
+      idx++;
+      return value;
+    }
+
+    /**
+     * Move to the beginning of a block
+     *
+     * @param block Block index
+     */
+
+    private void seekBlock(long block) {
+      long offset = blockOffsets[(int) block];
+      bin = bins[(int) (offset >>> BIN_BITS)];
+      pos = (int) (offset & BIN_MASK);
+    }
+
+    /**
+     * Read an unsigned varint
+     *
+     * @return Value
+     */
+
+    private int readVarint() {
+      int b = bin[pos++];
+      int result = b & 0x7F;
+      for (int shift = 7; b < 0; shift += 7) {
+        b = bin[pos++];
+        result |= (b & 0x7F) << shift;
+      }
+      return result;
+    }
+
+  }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>A big (i.e. long-indexed) array of doubles living outside of the Java heap.</p>
+ * <p>The data is either stored in direct byte buffers or in memory-mapped file regions. In the latter case, the OS
+ * page cache is responsible for keeping the data in memory. All values are stored in little-endian byte order.</p>
+ * <p><b>Note:</b> Serializing instances of this class yields a regular on-heap {@link BigDoubles} instance.</p>
+ */
+
+public class OffHeapDoubles implements BigDoubleArray {
+
+  static final long serialVersionUID = -3180520318771640914L;
+
+  static final int SEGMENT_BITS = 27;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+  private static final int BYTES = Double.BYTES;
+
+  private final transient DoubleBuffer[] segments;
+  private final long size;
+
+  /**
+   * Constructor
+   *
+   * @param segments Buffer segments. All but the last segment must hold exactly <code>2^SEGMENT_BITS</code> elements
+   * @param size     Number of elements
+   */
+
+  private OffHeapDoubles(DoubleBuffer[] segments, long size) {
+    this.segments = segments;
+    this.size = size;
+  }
+
+  /**
+   * Allocate a new array in direct memory
+   *
+   * @param size Number of elements
+   * @return New instance
+   */
+
+  public static OffHeapDoubles allocate(long size) {
+    DoubleBuffer[] segments = new DoubleBuffer[numSegments(size)];
+    for (int i = 0; i < segments.length; i++) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(segmentSize(size, i) * BYTES);
+      segments[i] = buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+    return new OffHeapDoubles(segments, size);
+  }
+
+  /**
+   * Map a file region into memory
+   *
+   * @param channel File channel
+   * @param offset  Byte offset of the first element within the file
+   * @param size    Number of elements
+   * @param mode    Mapping mode
+   * @return New instance
+   * @throws IOException If the region could not be mapped
+   */
+
+  public static OffHeapDoubles map(FileChannel channel, long offset, long size, FileChannel.MapMode mode) throws IOException {
+    DoubleBuffer[] segments = new DoubleBuffer[numSegments(size)];
+    for (int i = 0; i < segments.length; i++) {
+      long segmentOffset = offset + ((long) i << SEGMENT_BITS) * BYTES;
+      ByteBuffer buffer = channel.map(mode, segmentOffset, (long) segmentSize(size, i) * BYTES);
+      segments[i] = buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+    return new OffHeapDoubles(segments, size);
+  }
+
+  /**
+   * Create an off-heap copy of any big double array
+   *
+   * @param source Source array
+   * @return New instance in direct memory
+   */
+
+  public static OffHeapDoubles copyOf(BigDoubleArray source) {
+    OffHeapDoubles doubles = allocate(source.size());
+    doubles.copyFrom(source);
+    return doubles;
+  }
+
+  /**
+   * Fill this instance with the contents of another array of the same size
+   *
+   * @param source Source array
+   */
+
+  public void copyFrom(BigDoubleArray source) {
+    for (long i = 0; i < size; i++) {
+      set(i, source.get(i));
+    }
+  }
+
+  /**
+   * @param size Number of elements
+   * @return Number of segments required to hold the given number of elements
+   */
+
+  private static int numSegments(long size) {
+    return (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+  }
+
+  /**
+   * @param size    Total number of elements
+   * @param segment Segment index
+   * @return Number of elements in the given segment
+   */
+
+  private static int segmentSize(long size, int segment) {
+    return (int) Math.min(size - ((long) segment << SEGMENT_BITS), 1L << SEGMENT_BITS);
+  }
+
+  /**
+   * Set value
+   *
+   * @param idx   Index
+   * @param value Value
+   */
+
+  public void set(long idx, double value) {
+    segments[(int) (idx >>> SEGMENT_BITS)].put((int) (idx & SEGMENT_MASK), value);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public double get(long idx) {
+    return segments[(int) (idx >>> SEGMENT_BITS)].get((int) (idx & SEGMENT_MASK));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Serialize as regular on-heap array
+   *
+   * @return A <code>BigDoubles</code> copy of this instance
+   * @throws ObjectStreamException Never
+   */
+
+  private Object writeReplace() throws ObjectStreamException {
+    BigDoubles doubles = new BigDoubles(size);
+    for (long i = 0; i < size; i++) {
+      doubles.set(i, get(i));
+    }
+    return doubles;
+  }
+
+}
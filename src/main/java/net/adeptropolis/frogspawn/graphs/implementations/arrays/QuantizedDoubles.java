@@ -0,0 +1,101 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+/**
+ * <p>A read-only big (i.e. long-indexed) array of non-negative doubles, linearly quantized to 16 bits.</p>
+ * <p>Every value is being stored as an unsigned multiple of a common scale, which is chosen such that the
+ * largest value maps onto <code>2^16 - 1</code>. Hence, the absolute error of every value is at most half of that scale,
+ * except for tiny positive values below half a scale: those are rounded up to one scale, such that non-zero entries of
+ * a matrix remain non-zero. Their absolute error is less than one scale.</p>
+ */
+
+public class QuantizedDoubles implements BigDoubleArray {
+
+  static final long serialVersionUID = 6637108840196724051L;
+
+  static final int LEVELS = (1 << 16) - 1;
+  private static final int BIN_BITS = 17;
+  private static final int BIN_MASK = (1 << BIN_BITS) - 1;
+
+  private final short[][] data;
+  private final long size;
+  private final double scale;
+
+  /**
+   * Constructor
+   *
+   * @param data  Data bins. All but the last bin must hold exactly <code>2^BIN_BITS</code> elements
+   * @param size  Number of elements
+   * @param scale Quantization scale
+   */
+
+  private QuantizedDoubles(short[][] data, long size, double scale) {
+    this.data = data;
+    this.size = size;
+    this.scale = scale;
+  }
+
+  /**
+   * Create a quantized copy of any big double array
+   *
+   * @param source Source array. Must not contain negative values
+   * @return New instance
+   */
+
+  public static QuantizedDoubles copyOf(BigDoubleArray source) {
+    long size = source.size();
+    double max = 0;
+    for (long i = 0; i < size; i++) {
+      double value = source.get(i);
+      if (value < 0 || Double.isNaN(value)) {
+        throw new IllegalArgumentException("Unable to quantize value " + value);
+      }
+      max = Math.max(max, value);
+    }
+    double scale = (max > 0) ? max / LEVELS : 1.0;
+    short[][] data = new short[(int) ((size + BIN_MASK) >>> BIN_BITS)][];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = new short[(int) Math.min(size - ((long) i << BIN_BITS), 1L << BIN_BITS)];
+    }
+    for (long i = 0; i < size; i++) {
+      double value = source.get(i);
+      long level = Math.min(LEVELS, Math.round(value / scale));
+      if (level == 0 && value > 0) {
+        level = 1;
+      }
+      data[(int) (i >>> BIN_BITS)][(int) (i & BIN_MASK)] = (short) level;
+    }
+    return new QuantizedDoubles(data, size, scale);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public double get(long idx) {
+    return (data[(int) (idx >>> BIN_BITS)][(int) (idx & BIN_MASK)] & 0xFFFF) * scale;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @return Quantization scale, i.e. the difference between two adjacent representable values
+   */
+
+  public double scale() {
+    return scale;
+  }
+
+}
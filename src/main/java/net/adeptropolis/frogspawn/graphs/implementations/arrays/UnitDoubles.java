@@ -0,0 +1,46 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+/**
+ * A big array of doubles that are all equal to 1. Used as implicit weights of unweighted graphs, requiring no storage at all.
+ */
+
+public class UnitDoubles implements BigDoubleArray {
+
+  static final long serialVersionUID = 1540962365273007215L;
+
+  private final long size;
+
+  /**
+   * Constructor
+   *
+   * @param size Number of elements
+   */
+
+  public UnitDoubles(long size) {
+    this.size = size;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public double get(long idx) {
+    return 1.0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+}
@@ -8,10 +8,14 @@ package net.adeptropolis.frogspawn.graphs.labeled;
 import it.unimi.dsi.fastutil.ints.IntIterators;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.filters.GraphFilter;
+import net.adeptropolis.frogspawn.graphs.implementations.BinaryGraphFormat;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
 import net.adeptropolis.frogspawn.graphs.labeled.labelings.Labeling;
 import net.adeptropolis.frogspawn.graphs.traversal.EdgeConsumer;
 import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
+import org.apache.commons.lang3.Validate;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -233,5 +237,31 @@ public class LabeledGraph<V extends Serializable> implements Serializable {
     return builder.build();
   }
 
+  /**
+   * Store this graph in {@link BinaryGraphFormat}. Subgraphs are collapsed into a minimal sparse graph beforehand
+   * (see {@link #collapse()}). Note that this assigns new vertex ids in order of a lower-triangular traversal, so the
+   * stored vertex order of subgraphs may differ from the original one.
+   *
+   * @param file Output file
+   */
+
+  public void save(File file) {
+    LabeledGraph<V> stored = (graph instanceof SparseGraph) ? this : collapse();
+    BinaryGraphFormat.write((SparseGraph) stored.graph, stored.labeling, file);
+  }
+
+  /**
+   * Load a labeled graph from a file in {@link BinaryGraphFormat}. Edges and weights are mapped into memory.
+   *
+   * @param file Input file
+   * @param <V>  Label type
+   * @return Labeled graph backed by the input file
+   */
+
+  public static <V extends Serializable> LabeledGraph<V> load(File file) {
+    Labeling<V> labeling = BinaryGraphFormat.readLabeling(file);
+    Validate.notNull(labeling, "Graph file does not contain a labeling");
+    return new LabeledGraph<>(BinaryGraphFormat.read(file), labeling);
+  }
 
 }
@@ -5,6 +5,8 @@
 
 package net.adeptropolis.frogspawn.graphs.labeled;
 
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.implementations.ConcurrentGraphBuilder;
 import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
 import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
 import net.adeptropolis.frogspawn.graphs.labeled.labelings.Labeling;
@@ -13,6 +15,10 @@ import java.io.Serializable;
 
 /**
  * Provides a convenient builder for compressed sparse graphs from labels instead of integers.
+ * <p>Edges may be added concurrently. By default, every insertion holds the builder's lock while looking up the labels
+ * and passing the edge on to a single {@link SparseGraphBuilder}. Builders for many concurrent producers may instead be
+ * created using {@link #concurrent(Labeling)}. These only lock the labeling during the label lookup and collect the
+ * edges using a {@link ConcurrentGraphBuilder}, at the expense of buffering every edge twice.</p>
  *
  * @param <V> Label type
  */
@@ -20,7 +26,8 @@ import java.io.Serializable;
 public class LabeledGraphBuilder<V extends Serializable> {
 
   private final Labeling<V> labeling;
-  private final SparseGraphBuilder builder;
+  private final Graph.Builder builder;
+  private final boolean concurrent;
 
   /**
    * Constructor
@@ -29,8 +36,33 @@ public class LabeledGraphBuilder<V extends Serializable> {
    */
 
   public LabeledGraphBuilder(Labeling<V> labeling) {
+    this(labeling, new SparseGraphBuilder(), false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param labeling   Instance of a vertex labeling
+   * @param builder    Underlying graph builder
+   * @param concurrent Whether the underlying builder is thread-safe
+   */
+
+  private LabeledGraphBuilder(Labeling<V> labeling, Graph.Builder builder, boolean concurrent) {
     this.labeling = labeling;
-    this.builder = new SparseGraphBuilder();
+    this.builder = builder;
+    this.concurrent = concurrent;
+  }
+
+  /**
+   * Create a builder for many concurrent producers
+   *
+   * @param labeling Instance of a vertex labeling
+   * @param <V>      Label type
+   * @return New builder collecting edges using a {@link ConcurrentGraphBuilder}
+   */
+
+  public static <V extends Serializable> LabeledGraphBuilder<V> concurrent(Labeling<V> labeling) {
+    return new LabeledGraphBuilder<>(labeling, new ConcurrentGraphBuilder(), true);
   }
 
   /**
@@ -42,7 +74,30 @@ public class LabeledGraphBuilder<V extends Serializable> {
    * @return this
    */
 
-  public synchronized LabeledGraphBuilder<V> add(V left, V right, double weight) {
+  public LabeledGraphBuilder<V> add(V left, V right, double weight) {
+    if (!concurrent) {
+      return addSynchronized(left, right, weight);
+    }
+    int u;
+    int v;
+    synchronized (labeling) {
+      u = labeling.id(left);
+      v = labeling.id(right);
+    }
+    builder.add(u, v, weight);
+    return this;
+  }
+
+  /**
+   * Add a new undirected edge to a builder that is not thread-safe
+   *
+   * @param left   left vertex label
+   * @param right  right vertex label
+   * @param weight edge weight
+   * @return this
+   */
+
+  private synchronized LabeledGraphBuilder<V> addSynchronized(V left, V right, double weight) {
     builder.add(labeling.id(left), labeling.id(right), weight);
     return this;
   }
@@ -54,7 +109,7 @@ public class LabeledGraphBuilder<V extends Serializable> {
    */
 
   public LabeledGraph<V> build() {
-    SparseGraph graph = builder.build();
+    SparseGraph graph = (SparseGraph) builder.build();
     return new LabeledGraph<>(graph, labeling);
   }
 
@@ -6,20 +6,24 @@
 package net.adeptropolis.frogspawn.graphs.matrices;
 
 import net.adeptropolis.frogspawn.graphs.Graph;
-import net.adeptropolis.frogspawn.graphs.traversal.EdgeConsumer;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
+import net.adeptropolis.frogspawn.graphs.traversal.WorkStealingEdgeOps;
 import org.apache.commons.lang3.Validate;
 
-import java.util.Arrays;
-
 /**
  * <p>Adjacency matrix of a graph</p>
+ * <p>Multiplication is row-parallel: The graph is split into contiguous ranges of rows with roughly equal numbers of
+ * edges (see {@link WorkStealingEdgeOps#chunkBoundaries(Graph)}), each of which is being computed by a single thread
+ * using {@link Graph#multiplyAdjacency(int, int, double[], double[])}. Hence, every entry of the result is written
+ * exactly once and no synchronization is required.</p>
  */
 
-public class AdjacencyMatrix implements SquareMatrix, EdgeConsumer {
+public class AdjacencyMatrix implements SquareMatrix {
 
   private final Graph graph;
   private final double[] result;
-  private double[] argument;
+  private int[] boundaries;
+  private int boundariesParallelism;
 
   /**
    * Constructor
@@ -38,33 +42,33 @@ public class AdjacencyMatrix implements SquareMatrix, EdgeConsumer {
    */
 
   public double[] multiply(double[] argument) {
-    Arrays.fill(result, 0);
     Validate.isTrue(argument.length == graph.order(), "Argument length mismatch");
-    this.argument = argument;
-    graph.traverseParallel(this);
+    WorkStealingEdgeOps.traverseRanges(boundaries(), (from, to) -> graph.multiplyAdjacency(from, to, argument, result));
     return result;
   }
 
   /**
-   * {@inheritDoc}
+   * Row ranges are being computed only once per executor parallelism
+   *
+   * @return Boundaries of all row ranges
    */
 
-  @Override
-  public int size() {
-    return graph.order();
+  private int[] boundaries() {
+    int parallelism = TraversalExecutor.current().parallelism();
+    if (boundaries == null || boundariesParallelism != parallelism) {
+      boundaries = WorkStealingEdgeOps.chunkBoundaries(graph);
+      boundariesParallelism = parallelism;
+    }
+    return boundaries;
   }
 
   /**
-   * Internal: Callback for graph traversal
-   *
-   * @param i row
-   * @param j column
-   * @param v value
+   * {@inheritDoc}
    */
 
   @Override
-  public void accept(int i, int j, double v) {
-    result[i] += v * argument[j];
+  public int size() {
+    return graph.order();
   }
 
 }
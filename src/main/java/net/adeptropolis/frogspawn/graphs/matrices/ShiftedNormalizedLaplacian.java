@@ -6,19 +6,22 @@
 package net.adeptropolis.frogspawn.graphs.matrices;
 
 import net.adeptropolis.frogspawn.graphs.Graph;
-import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.apache.commons.lang3.Validate;
 
 /**
  * <p>Provides a spectrally shifted version of the normalized laplacian of an undirected, connected graph</p>
  * <p>The shifting is performed in such a way that the eigenvector originally belonging to the second-smallest
  * eigenvalue of the normalized laplacian is now assigned to the largest eigenvalue of this matrix.
  * All computations are performed on the fly.</p>
+ * <p>Inverse square roots of all vertex weights are being computed only once. Apart from the adjacency matrix
+ * multiplication, every product requires only two passes over the vectors: The first one scales the argument and
+ * simultaneously computes its projection onto <code>v<sub>0</sub></code>, the second one assembles the result.</p>
  */
 
 public class ShiftedNormalizedLaplacian implements SquareMatrix {
 
   private final Graph graph;
-  private final double[] weights;
+  private final double[] invSqrtWeights;
   private final double[] argument;
   private final AdjacencyMatrix adjacencyMatrix;
   private final double[] v0;
@@ -31,7 +34,7 @@ public class ShiftedNormalizedLaplacian implements SquareMatrix {
 
   public ShiftedNormalizedLaplacian(Graph graph) {
     this.graph = graph;
-    this.weights = graph.weights();
+    this.invSqrtWeights = computeInvSqrtWeights(graph);
     this.v0 = computeV0(graph);
     this.argument = new double[graph.order()];
     this.adjacencyMatrix = new AdjacencyMatrix(graph);
@@ -54,22 +57,78 @@ public class ShiftedNormalizedLaplacian implements SquareMatrix {
     return v0;
   }
 
+  /**
+   * @param graph A graph
+   * @return Vector of <code>1 / √w<sub>i</sub></code> for all vertex weights <code>w<sub>i</sub></code>
+   */
+
+  static double[] computeInvSqrtWeights(Graph graph) {
+    double[] weights = graph.weights();
+    double[] invSqrtWeights = new double[weights.length];
+    for (int i = 0; i < weights.length; i++) {
+      invSqrtWeights[i] = 1.0 / Math.sqrt(weights[i]);
+    }
+    return invSqrtWeights;
+  }
+
   /**
    * {@inheritDoc}
    */
 
   public double[] multiply(double[] x) {
-    double mu = 2 * Vectors.scalarProduct(v0, x);
-    for (int i = 0; i < graph.order(); i++) {
-      argument[i] = x[i] / Math.sqrt(weights[i]);
+    Validate.isTrue(x.length == graph.order(), "Argument length mismatch");
+    int n = x.length;
+    int bound = n & ~3;
+    double p0 = 0;
+    double p1 = 0;
+    double p2 = 0;
+    double p3 = 0;
+    for (int i = 0; i < bound; i += 4) {
+      p0 += v0[i] * x[i];
+      p1 += v0[i + 1] * x[i + 1];
+      p2 += v0[i + 2] * x[i + 2];
+      p3 += v0[i + 3] * x[i + 3];
+      argument[i] = x[i] * invSqrtWeights[i];
+      argument[i + 1] = x[i + 1] * invSqrtWeights[i + 1];
+      argument[i + 2] = x[i + 2] * invSqrtWeights[i + 2];
+      argument[i + 3] = x[i + 3] * invSqrtWeights[i + 3];
+    }
+    for (int i = bound; i < n; i++) {
+      p0 += v0[i] * x[i];
+      argument[i] = x[i] * invSqrtWeights[i];
     }
+    double mu = 2 * ((p0 + p1) + (p2 + p3));
     double[] result = adjacencyMatrix.multiply(argument);
-    for (int i = 0; i < graph.order(); i++) {
-      result[i] = x[i] + result[i] / Math.sqrt(weights[i]) - mu * v0[i];
+    for (int i = 0; i < n; i++) {
+      result[i] = x[i] + result[i] * invSqrtWeights[i] - mu * v0[i];
     }
     return result;
   }
 
+  /**
+   * @return The underlying graph
+   */
+
+  public Graph getGraph() {
+    return graph;
+  }
+
+  /**
+   * @return Eigenvector associated with the smallest eigenvalue of the regular normalized laplacian
+   */
+
+  public double[] getV0() {
+    return v0;
+  }
+
+  /**
+   * @return Inverse square roots of all vertex weights
+   */
+
+  public double[] getInvSqrtWeights() {
+    return invSqrtWeights;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -48,7 +48,7 @@ public class NormalizedCutMetric implements GraphSimilarityMetric {
     boolean[] sub = subgraphMap(supergraph, subgraph);
     Accumulator[] accumulators = createAccumulators();
     supergraph.traverseParallel((u, v, weight) -> {
-      Accumulator acc = accumulators[ParallelEdgeOps.slice(u)];
+      Accumulator acc = accumulators[ParallelEdgeOps.slice(supergraph, u)];
       if (!sub[u] && !sub[v]) {
         acc.complementWeights += weight;
       } else {
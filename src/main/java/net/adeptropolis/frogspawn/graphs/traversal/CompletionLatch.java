@@ -0,0 +1,74 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Countdown latch for the tasks of a parallel operation</p>
+ * <p>Tasks are always being counted down, regardless of whether they complete normally or not. The first failure
+ * of any task is being recorded and rethrown to the thread awaiting the operation. Hence, failing consumers neither
+ * get lost in the executor nor leave the awaiting thread blocked forever.</p>
+ */
+
+final class CompletionLatch {
+
+  private final CountDownLatch latch;
+  private final AtomicReference<Throwable> failure;
+
+  /**
+   * Constructor
+   *
+   * @param tasks Number of tasks
+   */
+
+  CompletionLatch(int tasks) {
+    this.latch = new CountDownLatch(tasks);
+    this.failure = new AtomicReference<>();
+  }
+
+  /**
+   * Run a single task and count it down afterwards
+   *
+   * @param task Task
+   */
+
+  void run(Runnable task) {
+    try {
+      task.run();
+    } catch (Throwable t) {
+      failure.compareAndSet(null, t);
+    } finally {
+      latch.countDown();
+    }
+  }
+
+  /**
+   * Wait for all tasks to finish
+   *
+   * @throws ParallelOpsException if the waiting thread has been interrupted or any task failed with a checked
+   *                              exception. Unchecked exceptions and errors of failed tasks are rethrown as they are.
+   */
+
+  void await() {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ParallelOpsException(e);
+    }
+    Throwable t = failure.get();
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t != null) {
+      throw new ParallelOpsException(t);
+    }
+  }
+
+}
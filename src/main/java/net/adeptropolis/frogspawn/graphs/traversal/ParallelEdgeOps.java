@@ -7,10 +7,11 @@ package net.adeptropolis.frogspawn.graphs.traversal;
 
 import net.adeptropolis.frogspawn.graphs.Graph;
 
-import java.util.concurrent.CountDownLatch;
-
 /**
- * Parallel Edge Operations
+ * <p>Parallel Edge Operations</p>
+ * <p>By default, vertices are assigned to slices in a round-robin fashion. Graphs with symmetric storage are split
+ * into contiguous ranges of vertices instead (see {@link Graph#traverseRange(int, int, EdgeConsumer, TraversalMode)}).
+ * Either way, every left endpoint is passed to the consumer from exactly one slice.</p>
  */
 
 public final class ParallelEdgeOps extends ParallelOps implements Runnable {
@@ -24,12 +25,13 @@ public final class ParallelEdgeOps extends ParallelOps implements Runnable {
    * @param graph    Graph whose edges should be traversed
    * @param consumer Instance of EdgeConsumer
    * @param slice    Slice (essentially an identifier for the individual thread workload)
+   * @param executor Executor running this operation
    * @param mode     Selected traversal mode
-   * @param latch    Countdown latch
+   * @param latch    Completion latch
    */
 
-  private ParallelEdgeOps(Graph graph, EdgeConsumer consumer, int slice, TraversalMode mode, CountDownLatch latch) {
-    super(graph, slice, latch);
+  private ParallelEdgeOps(Graph graph, EdgeConsumer consumer, int slice, TraversalExecutor executor, TraversalMode mode, CompletionLatch latch) {
+    super(graph, slice, executor, latch);
     this.consumer = consumer;
     this.mode = mode;
   }
@@ -46,9 +48,7 @@ public final class ParallelEdgeOps extends ParallelOps implements Runnable {
     if (graph.order() >= PARALLELIZATION_THRESHOLD) {
       traverseParallel(graph, mode, consumer);
     } else {
-      for (int i = 0; i < graph.order(); i++) {
-        graph.traverseIncidentEdges(i, consumer, mode);
-      }
+      graph.traverseRange(0, graph.order(), consumer, mode);
     }
   }
 
@@ -61,37 +61,52 @@ public final class ParallelEdgeOps extends ParallelOps implements Runnable {
    */
 
   private static void traverseParallel(Graph graph, TraversalMode mode, EdgeConsumer consumer) {
-    CountDownLatch latch = new CountDownLatch(THREAD_POOL_SIZE);
-    for (int i = 0; i < THREAD_POOL_SIZE; i++) {
-      EXECUTOR.submit(new ParallelEdgeOps(graph, consumer, i, mode, latch));
-    }
-    try {
-      latch.await();
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new ParallelOpsException(e);
+    TraversalExecutor executor = TraversalExecutor.current();
+    CompletionLatch latch = new CompletionLatch(executor.parallelism());
+    for (int i = 0; i < executor.parallelism(); i++) {
+      executor.executor().submit(new ParallelEdgeOps(graph, consumer, i, executor, mode, latch));
     }
+    latch.await();
   }
 
   /**
-   * Return the slice a vertex will fall into during traversal.
+   * Return the slice a vertex will fall into during traversal. The result refers to traversals issued by the current
+   * thread or, when called from within a consumer, to the ongoing traversal.
    *
-   * @param v Local vertex id
+   * @param graph Graph
+   * @param v     Local vertex id
    * @return Slice index
    */
 
-  public static int slice(int v) {
-    return v % THREAD_POOL_SIZE;
+  public static int slice(Graph graph, int v) {
+    int slices = slices();
+    if (graph.symmetricStorage()) {
+      return (int) (((v + 1L) * slices - 1) / graph.order());
+    }
+    return v % slices;
+  }
+
+  /**
+   * Return the first vertex of a slice whenever vertices are being sliced into contiguous ranges
+   *
+   * @param graph  Graph
+   * @param slice  Slice index
+   * @param slices Total number of slices
+   * @return First local vertex id of the slice
+   */
+
+  private static int rangeStart(Graph graph, int slice, int slices) {
+    return (int) ((long) slice * graph.order() / slices);
   }
 
   /**
-   * Return the maximum number of slices
+   * Return the maximum number of slices for traversals issued by the current thread
    *
    * @return Maximum slice index (exclusive)
    */
 
   public static int slices() {
-    return THREAD_POOL_SIZE;
+    return TraversalExecutor.current().parallelism();
   }
 
   /**
@@ -100,11 +115,17 @@ public final class ParallelEdgeOps extends ParallelOps implements Runnable {
 
   @Override
   public void run() {
-    int v;
-    for (int i = 0; (v = i * THREAD_POOL_SIZE + slice) < graph.order(); i++) {
-      graph.traverseIncidentEdges(v, consumer, mode);
-    }
-    latch.countDown();
+    latch.run(() -> executor.run(() -> {
+      int slices = executor.parallelism();
+      if (graph.symmetricStorage()) {
+        graph.traverseRange(rangeStart(graph, slice, slices), rangeStart(graph, slice + 1, slices), consumer, mode);
+      } else {
+        int v;
+        for (int i = 0; (v = i * slices + slice) < graph.order(); i++) {
+          graph.traverseIncidentEdges(v, consumer, mode);
+        }
+      }
+    }));
   }
 
 }
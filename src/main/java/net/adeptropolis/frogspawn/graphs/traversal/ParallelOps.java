@@ -12,7 +12,8 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Base class for parallel graph traversal operations
+ * <p>Base class for parallel graph traversal operations</p>
+ * <p>Operations are being run on the executor of the calling thread (see {@link TraversalExecutor#current()}).</p>
  */
 
 abstract class ParallelOps {
@@ -28,19 +29,22 @@ abstract class ParallelOps {
 
   final Graph graph;
   final int slice;
-  final CountDownLatch latch;
+  final TraversalExecutor executor;
+  final CompletionLatch latch;
 
   /**
    * Constructor
    *
-   * @param graph The graph that whose edge are to be traversed
-   * @param slice Graph slice processed by this thread
-   * @param latch CountDown latch
+   * @param graph    The graph that whose edge are to be traversed
+   * @param slice    Graph slice processed by this thread
+   * @param executor Executor running this operation
+   * @param latch    Completion latch
    */
 
-  ParallelOps(Graph graph, int slice, CountDownLatch latch) {
+  ParallelOps(Graph graph, int slice, TraversalExecutor executor, CompletionLatch latch) {
     this.graph = graph;
     this.slice = slice;
+    this.executor = executor;
     this.latch = latch;
   }
 
@@ -7,8 +7,6 @@ package net.adeptropolis.frogspawn.graphs.traversal;
 
 import net.adeptropolis.frogspawn.graphs.Graph;
 
-import java.util.concurrent.CountDownLatch;
-
 /**
  * Parallel Vertex Operations
  */
@@ -23,11 +21,12 @@ public final class ParallelVertexOps extends ParallelOps implements Runnable {
    * @param graph    Graph whose vertices should be traversed
    * @param consumer Instance of VertexConsumer
    * @param slice    Slice (essentially an identifier for the individual thread workload)
-   * @param latch    Countdown latch
+   * @param executor Executor running this operation
+   * @param latch    Completion latch
    */
 
-  private ParallelVertexOps(Graph graph, VertexConsumer consumer, int slice, CountDownLatch latch) {
-    super(graph, slice, latch);
+  private ParallelVertexOps(Graph graph, VertexConsumer consumer, int slice, TraversalExecutor executor, CompletionLatch latch) {
+    super(graph, slice, executor, latch);
     this.consumer = consumer;
   }
 
@@ -57,16 +56,12 @@ public final class ParallelVertexOps extends ParallelOps implements Runnable {
    */
 
   private static void traverseParallel(Graph graph, VertexConsumer consumer) {
-    CountDownLatch latch = new CountDownLatch(THREAD_POOL_SIZE);
-    for (int i = 0; i < THREAD_POOL_SIZE; i++) {
-      EXECUTOR.submit(new ParallelVertexOps(graph, consumer, i, latch));
-    }
-    try {
-      latch.await();
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new ParallelOpsException(e);
+    TraversalExecutor executor = TraversalExecutor.current();
+    CompletionLatch latch = new CompletionLatch(executor.parallelism());
+    for (int i = 0; i < executor.parallelism(); i++) {
+      executor.executor().submit(new ParallelVertexOps(graph, consumer, i, executor, latch));
     }
+    latch.await();
   }
 
   /**
@@ -75,11 +70,12 @@ public final class ParallelVertexOps extends ParallelOps implements Runnable {
 
   @Override
   public void run() {
-    int v;
-    for (int i = 0; (v = i * THREAD_POOL_SIZE + slice) < graph.order(); i++) {
-      consumer.accept(v);
-    }
-    latch.countDown();
+    latch.run(() -> executor.run(() -> {
+      int v;
+      for (int i = 0; (v = i * executor.parallelism() + slice) < graph.order(); i++) {
+        consumer.accept(v);
+      }
+    }));
   }
 
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+/**
+ * Consumer for contiguous ranges of vertices
+ *
+ * @see WorkStealingEdgeOps#traverseRanges(int[], RangeConsumer)
+ */
+
+@FunctionalInterface
+public interface RangeConsumer {
+
+  /**
+   * Accept a new range of vertices
+   *
+   * @param from First local vertex id (inclusive)
+   * @param to   Last local vertex id (exclusive)
+   */
+
+  void accept(int from, int to);
+
+}
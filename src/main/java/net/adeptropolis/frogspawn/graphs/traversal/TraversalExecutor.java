@@ -0,0 +1,195 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>Executor for parallel graph operations</p>
+ * <p>By default, all parallel graph operations within the JVM share a common thread pool whose parallelism equals the
+ * number of available processors (see {@link #shared()}). Independent jobs may instead run their graph operations on
+ * isolated pools with bounded parallelism: Any parallel traversal issued from within {@link #run(Runnable)} or
+ * {@link #call(Supplier)} is being distributed among <code>parallelism()</code> tasks that are submitted to this
+ * executor.</p>
+ * <p>Note that these tasks are not allowed to block on each other. A supplied executor must therefore be able to run at
+ * least <code>parallelism</code> tasks concurrently.</p>
+ */
+
+public final class TraversalExecutor {
+
+  private static final TraversalExecutor SHARED = new TraversalExecutor(ParallelOps.EXECUTOR, ParallelOps.THREAD_POOL_SIZE);
+  private static final TraversalExecutor SEQUENTIAL = new TraversalExecutor(new CallerRunsExecutorService(), 1);
+  private static final ThreadLocal<TraversalExecutor> CURRENT = ThreadLocal.withInitial(() -> SHARED);
+
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  /**
+   * Constructor
+   *
+   * @param executor    Executor service
+   * @param parallelism Number of tasks per parallel operation
+   */
+
+  private TraversalExecutor(ExecutorService executor, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * @return The executor shared by all graph operations that are not being run on any other executor
+   */
+
+  public static TraversalExecutor shared() {
+    return SHARED;
+  }
+
+  /**
+   * @return An executor that runs all parallel graph operations within the calling thread
+   */
+
+  public static TraversalExecutor sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * Use a given executor service
+   *
+   * @param executor    Executor service. Needs to be able to run at least <code>parallelism</code> tasks concurrently
+   * @param parallelism Number of tasks per parallel operation
+   * @return New instance
+   */
+
+  public static TraversalExecutor of(ExecutorService executor, int parallelism) {
+    return new TraversalExecutor(executor, parallelism);
+  }
+
+  /**
+   * Create a new executor backed by an isolated pool of daemon threads
+   *
+   * @param parallelism Number of threads
+   * @return New instance
+   */
+
+  public static TraversalExecutor withParallelism(int parallelism) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ParallelOps.DaemonThreadOps());
+    executor.allowCoreThreadTimeOut(true);
+    return new TraversalExecutor(executor, parallelism);
+  }
+
+  /**
+   * @return The executor that parallel graph operations issued by the current thread are being run on
+   */
+
+  public static TraversalExecutor current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Run a task such that all of its parallel graph operations use this executor
+   *
+   * @param task Task
+   */
+
+  public void run(Runnable task) {
+    call(() -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * Run a task such that all of its parallel graph operations use this executor
+   *
+   * @param task Task
+   * @param <T>  Result type
+   * @return Result of the task
+   */
+
+  public <T> T call(Supplier<T> task) {
+    TraversalExecutor previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return task.get();
+    } finally {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * @return Number of tasks per parallel operation
+   */
+
+  public int parallelism() {
+    return parallelism;
+  }
+
+  /**
+   * @return The underlying executor service
+   */
+
+  ExecutorService executor() {
+    return executor;
+  }
+
+  /**
+   * @return A string representation of this object
+   */
+
+  @Override
+  public String toString() {
+    return String.format("TraversalExecutor(parallelism=%d)", parallelism);
+  }
+
+  /**
+   * Executor service running all tasks within the submitting thread. It is never being shut down.
+   */
+
+  private static class CallerRunsExecutorService extends AbstractExecutorService {
+
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return false;
+    }
+
+  }
+
+}
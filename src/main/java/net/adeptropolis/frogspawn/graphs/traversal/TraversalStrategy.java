@@ -0,0 +1,29 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+/**
+ * Strategies for distributing parallel edge traversals among worker threads. Regardless of the strategy, all edges
+ * sharing a common left endpoint are always being passed to the consumer by the very same thread.
+ */
+
+public enum TraversalStrategy {
+
+  /**
+   * Split the graph into a fixed number of slices, one per thread (see {@link ParallelEdgeOps}). Consumers may use
+   * {@link ParallelEdgeOps#slice(net.adeptropolis.frogspawn.graphs.Graph, int)} to maintain per-thread state.
+   */
+
+  SLICED,
+
+  /**
+   * Split the graph into contiguous chunks of vertices with roughly equal numbers of edges and let threads claim those
+   * until none are left (see {@link WorkStealingEdgeOps}). Preferable for graphs with skewed degree distributions.
+   */
+
+  WORK_STEALING
+
+}
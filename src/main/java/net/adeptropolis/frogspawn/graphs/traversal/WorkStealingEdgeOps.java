@@ -0,0 +1,167 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.adeptropolis.frogspawn.graphs.Graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Work-stealing parallel edge operations</p>
+ * <p>The vertex range of a graph is being split into contiguous chunks of roughly equal traversal cost
+ * (see {@link Graph#traversalCost(int)}). Every task of the current {@link TraversalExecutor} then repeatedly claims the
+ * next unprocessed chunk, so that idle threads pick up the remaining work of busy ones. Every left endpoint is passed to
+ * the consumer from exactly one chunk, but in contrast to {@link ParallelEdgeOps}, chunks are not tied to specific
+ * threads.</p>
+ * <p>Note that a single vertex is never being split up. Hence, the largest chunk is at least as expensive as the
+ * vertex with the largest degree. Also, range traversals of graphs with symmetric storage need to scan all subsequent
+ * vertices. Those graphs are therefore only split into one chunk per thread.</p>
+ */
+
+public final class WorkStealingEdgeOps implements Runnable {
+
+  /**
+   * Number of chunks per thread. More chunks allow for better balancing at the cost of scheduling overhead.
+   */
+  static final int CHUNKS_PER_THREAD = 16;
+
+  private final RangeConsumer consumer;
+  private final int[] boundaries;
+  private final AtomicInteger nextChunk;
+  private final TraversalExecutor executor;
+  private final CompletionLatch latch;
+
+  /**
+   * Constructor
+   *
+   * @param consumer   Consumer for all chunks
+   * @param boundaries Chunk boundaries, i.e. the first vertex of every chunk followed by the graph order
+   * @param nextChunk  Index of the next unclaimed chunk, shared among all tasks
+   * @param executor   Executor running this operation
+   * @param latch      Completion latch
+   */
+
+  private WorkStealingEdgeOps(RangeConsumer consumer, int[] boundaries, AtomicInteger nextChunk,
+                              TraversalExecutor executor, CompletionLatch latch) {
+    this.consumer = consumer;
+    this.boundaries = boundaries;
+    this.nextChunk = nextChunk;
+    this.executor = executor;
+    this.latch = latch;
+  }
+
+  /**
+   * Parallel traversal over all edges of a given graph
+   *
+   * @param graph    Graph
+   * @param consumer Instance of EdgeConsumer
+   * @param mode     Traversal mode
+   */
+
+  public static void traverse(Graph graph, EdgeConsumer consumer, TraversalMode mode) {
+    if (splitsWork(graph.order())) {
+      traverseRanges(chunkBoundaries(graph), (from, to) -> graph.traverseRange(from, to, consumer, mode));
+    } else {
+      graph.traverseRange(0, graph.order(), consumer, mode);
+    }
+  }
+
+  /**
+   * Determine whether a number of vertices is being split among multiple tasks of the current executor
+   *
+   * @param order Number of vertices
+   * @return <code>true</code> if there are at least <code>PARALLELIZATION_THRESHOLD</code> vertices and the current
+   * executor runs more than one task per operation
+   */
+
+  private static boolean splitsWork(int order) {
+    return order >= ParallelOps.PARALLELIZATION_THRESHOLD && TraversalExecutor.current().parallelism() > 1;
+  }
+
+  /**
+   * Process a number of contiguous vertex ranges in parallel. Ranges are processed sequentially whenever there are
+   * less than <code>PARALLELIZATION_THRESHOLD</code> vertices in total.
+   *
+   * @param boundaries Range boundaries, i.e. the first vertex of every range followed by the total number of vertices
+   * @param consumer   Consumer for all ranges
+   */
+
+  public static void traverseRanges(int[] boundaries, RangeConsumer consumer) {
+    if (boundaries[boundaries.length - 1] < ParallelOps.PARALLELIZATION_THRESHOLD) {
+      for (int i = 0; i < boundaries.length - 1; i++) {
+        consumer.accept(boundaries[i], boundaries[i + 1]);
+      }
+      return;
+    }
+    TraversalExecutor executor = TraversalExecutor.current();
+    AtomicInteger nextChunk = new AtomicInteger();
+    CompletionLatch latch = new CompletionLatch(executor.parallelism());
+    for (int i = 0; i < executor.parallelism(); i++) {
+      executor.executor().submit(new WorkStealingEdgeOps(consumer, boundaries, nextChunk, executor, latch));
+    }
+    latch.await();
+  }
+
+  /**
+   * Split the vertices of a graph into contiguous chunks of roughly equal cost, suitable for the current executor.
+   * Graphs that are not being split among multiple tasks anyway yield a single chunk without scanning any vertices.
+   *
+   * @param graph Graph
+   * @return The first vertex of every non-empty chunk, followed by the graph order
+   */
+
+  public static int[] chunkBoundaries(Graph graph) {
+    if (!splitsWork(graph.order())) {
+      return new int[]{0, graph.order()};
+    }
+    int chunksPerThread = graph.symmetricStorage() ? 1 : CHUNKS_PER_THREAD;
+    return chunkBoundaries(graph, TraversalExecutor.current().parallelism() * chunksPerThread);
+  }
+
+  /**
+   * Split the vertices of a graph into contiguous chunks of roughly equal cost
+   *
+   * @param graph     Graph
+   * @param numChunks Requested number of chunks
+   * @return The first vertex of every non-empty chunk, followed by the graph order
+   */
+
+  static int[] chunkBoundaries(Graph graph, int numChunks) {
+    long totalCost = 0;
+    for (int v = 0; v < graph.order(); v++) {
+      totalCost += graph.traversalCost(v);
+    }
+    long chunkCost = Math.max(1, (totalCost + numChunks - 1) / numChunks);
+    IntArrayList boundaries = new IntArrayList(numChunks + 1);
+    boundaries.add(0);
+    long cost = 0;
+    for (int v = 0; v < graph.order(); v++) {
+      cost += graph.traversalCost(v);
+      if (cost >= chunkCost && v + 1 < graph.order()) {
+        boundaries.add(v + 1);
+        cost = 0;
+      }
+    }
+    boundaries.add(graph.order());
+    return boundaries.toIntArray();
+  }
+
+  /**
+   * Runnable entry point. Keep processing unclaimed chunks and count down the latch once there are none left.
+   */
+
+  @Override
+  public void run() {
+    latch.run(() -> executor.run(() -> {
+      int chunk;
+      while ((chunk = nextChunk.getAndIncrement()) < boundaries.length - 1) {
+        consumer.accept(boundaries[chunk], boundaries[chunk + 1]);
+      }
+    }));
+  }
+
+}
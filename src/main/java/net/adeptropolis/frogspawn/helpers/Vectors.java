@@ -8,7 +8,11 @@ package net.adeptropolis.frogspawn.helpers;
 import org.apache.commons.lang3.Validate;
 
 /**
- * Provides some basic vector operations
+ * <p>Provides some basic vector operations</p>
+ * <p>Reductions are being computed using four independent partial sums. This breaks the dependency chain of a single
+ * accumulator and allows the JIT to keep several multiply-adds in flight (and to use SIMD instructions where
+ * available). Note that the summation order therefore differs from a naive loop, which may result in minor rounding
+ * differences.</p>
  */
 
 public class Vectors {
@@ -26,11 +30,22 @@ public class Vectors {
 
   public static double scalarProduct(double[] v, double[] w) {
     Validate.isTrue(v.length == w.length);
-    double prod = 0;
-    for (int i = 0; i < v.length; i++) {
-      prod += v[i] * w[i];
+    int n = v.length;
+    int bound = n & ~3;
+    double p0 = 0;
+    double p1 = 0;
+    double p2 = 0;
+    double p3 = 0;
+    for (int i = 0; i < bound; i += 4) {
+      p0 += v[i] * w[i];
+      p1 += v[i + 1] * w[i + 1];
+      p2 += v[i + 2] * w[i + 2];
+      p3 += v[i + 3] * w[i + 3];
+    }
+    for (int i = bound; i < n; i++) {
+      p0 += v[i] * w[i];
     }
-    return prod;
+    return (p0 + p1) + (p2 + p3);
   }
 
   /**
@@ -40,9 +55,19 @@ public class Vectors {
    */
 
   public static void normalize2(double[] v) {
-    double scale = 1.0 / norm2(v);
+    scale(v, 1.0 / norm2(v));
+  }
+
+  /**
+   * In-place scaling of a vector
+   *
+   * @param v      A vector
+   * @param factor Scaling factor
+   */
+
+  public static void scale(double[] v, double factor) {
     for (int i = 0; i < v.length; i++) {
-      v[i] = v[i] * scale;
+      v[i] *= factor;
     }
   }
 
@@ -54,11 +79,33 @@ public class Vectors {
    */
 
   public static double norm2(double[] v) {
-    double norm = 0;
-    for (double value : v) {
-      norm += value * value;
+    return Math.sqrt(squaredNorm2(v));
+  }
+
+  /**
+   * Compute the squared Euclidean norm of a vector
+   *
+   * @param v A vector
+   * @return <code>v ⋅ v</code>
+   */
+
+  public static double squaredNorm2(double[] v) {
+    int n = v.length;
+    int bound = n & ~3;
+    double s0 = 0;
+    double s1 = 0;
+    double s2 = 0;
+    double s3 = 0;
+    for (int i = 0; i < bound; i += 4) {
+      s0 += v[i] * v[i];
+      s1 += v[i + 1] * v[i + 1];
+      s2 += v[i + 2] * v[i + 2];
+      s3 += v[i + 3] * v[i + 3];
     }
-    return Math.sqrt(norm);
+    for (int i = bound; i < n; i++) {
+      s0 += v[i] * v[i];
+    }
+    return (s0 + s1) + (s2 + s3);
   }
 
   /**
@@ -70,11 +117,7 @@ public class Vectors {
 
   public static void normalize2Sig(double[] v) {
     double sig = v[0] != 0 ? Math.signum(v[0]) : 1;
-    double scale = 1.0 / norm2(v);
-    for (int i = 0; i < v.length; i++) {
-      v[i] = sig * v[i] * scale;
-    }
+    scale(v, sig / norm2(v));
   }
 
-
 }
\ No newline at end of file
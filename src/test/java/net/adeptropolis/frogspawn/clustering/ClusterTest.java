@@ -113,6 +113,25 @@ public class ClusterTest {
     assertThat(child221.depth(), is(3));
   }
 
+  @Test
+  public void renumber() {
+    Cluster root = new Cluster((Graph) null);
+    Cluster child1 = new Cluster(root);
+    Cluster child11 = new Cluster(child1);
+    Cluster child2 = new Cluster(root);
+    Cluster child21 = new Cluster(child2);
+    Cluster child12 = new Cluster(child1);
+    root.renumber();
+    assertThat(root.getId(), lessThan(child1.getId()));
+    assertThat(child1.getId(), lessThan(child2.getId()));
+    assertThat(child2.getId(), lessThan(child11.getId()));
+    assertThat(child11.getId(), lessThan(child12.getId()));
+    assertThat(child12.getId(), lessThan(child21.getId()));
+    assertThat(root.getChildren(), contains(child1, child2));
+    assertThat(child1.getChildren(), contains(child11, child12));
+    assertThat(child2.getChildren(), contains(child21));
+  }
+
   @Test
   public void root() {
     Cluster root = new Cluster((Graph) null);
@@ -0,0 +1,97 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.clustering;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class ParallelismSchedulerTest extends GraphTestBase {
+
+  @Test
+  public void smallGraphsAreProcessedSequentially() {
+    TraversalExecutor executor = TraversalExecutor.withParallelism(4);
+    ParallelismScheduler scheduler = new ParallelismScheduler(executor, 1000);
+    scheduler.submitted(1);
+    assertThat(scheduler.schedule(completeGraph(20).size()), is(TraversalExecutor.sequential()));
+    assertThat(scheduler.schedule(completeGraph(40).size()), is(executor));
+  }
+
+  @Test
+  public void saturatedPoolsProcessSequentially() {
+    TraversalExecutor executor = TraversalExecutor.withParallelism(4);
+    ParallelismScheduler scheduler = new ParallelismScheduler(executor, 1000);
+    long size = completeGraph(40).size();
+    scheduler.submitted(3);
+    assertThat(scheduler.schedule(size), is(executor));
+    scheduler.submitted(1);
+    assertThat(scheduler.schedule(size), is(TraversalExecutor.sequential()));
+    scheduler.completed();
+    assertThat(scheduler.schedule(size), is(executor));
+  }
+
+  @Test(timeout = 10000)
+  public void parallelTraversalsWaitForThreadBudget() throws Exception {
+    TraversalExecutor executor = TraversalExecutor.withParallelism(2);
+    ParallelismScheduler scheduler = new ParallelismScheduler(executor, 1000);
+    ExecutorService workers = Executors.newFixedThreadPool(2);
+    try {
+      scheduler.submitted(1);
+      CountDownLatch sequentialStarted = new CountDownLatch(1);
+      CountDownLatch sequentialReleased = new CountDownLatch(1);
+      Future<TraversalExecutor> sequential = workers.submit(() -> scheduler.process(completeGraph(20).size(), () -> {
+        sequentialStarted.countDown();
+        try {
+          sequentialReleased.await();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        return TraversalExecutor.current();
+      }));
+      sequentialStarted.await();
+      Future<TraversalExecutor> parallel = workers.submit(() ->
+              scheduler.process(completeGraph(40).size(), TraversalExecutor::current));
+      assertThrows(TimeoutException.class, () -> parallel.get(200, TimeUnit.MILLISECONDS));
+      sequentialReleased.countDown();
+      assertThat(sequential.get(), is(TraversalExecutor.sequential()));
+      assertThat(parallel.get(), is(executor));
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  @Test
+  public void metrics() {
+    TraversalExecutor executor = TraversalExecutor.withParallelism(2);
+    ParallelismScheduler scheduler = new ParallelismScheduler(executor, 1000);
+    Graph large = completeGraph(40);
+    Graph small = completeGraph(10);
+    scheduler.submitted(1);
+    scheduler.schedule(large.size());
+    scheduler.submitted(3);
+    scheduler.completed();
+    scheduler.schedule(small.size());
+    scheduler.schedule(large.size());
+    assertThat(scheduler.getParallelTasks(), is(1L));
+    assertThat(scheduler.getParallelEdges(), is(large.size()));
+    assertThat(scheduler.getSequentialTasks(), is(2L));
+    assertThat(scheduler.getSequentialEdges(), is(large.size() + small.size()));
+    assertThat(scheduler.getMaxPending(), is(4));
+  }
+
+}
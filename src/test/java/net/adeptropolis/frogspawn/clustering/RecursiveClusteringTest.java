@@ -91,6 +91,34 @@ public class RecursiveClusteringTest {
     assertThat(allClusterVertices, is(allGraphVertices));
   }
 
+  @Test
+  public void warmStart() {
+    ClusteringSettings settings = ClusteringSettings.builder()
+            .minClusterSize(50)
+            .minAffiliation(0.1)
+            .warmStart(true)
+            .build();
+    Cluster warmStartRoot = RecursiveClustering.run(defaultGraph, settings);
+    IntOpenHashSet allClusterVertices = new IntOpenHashSet(warmStartRoot.aggregateVertices().iterator());
+    assertThat(warmStartRoot.aggregateVertices().size(), is(allClusterVertices.size()));
+    assertThat(allClusterVertices, is(new IntOpenHashSet(defaultGraph.collectVertices())));
+    assertThat(fingerprint(defaultGraph, settings), is(hierarchyFingerprint(warmStartRoot, digester())));
+  }
+
+  @Test
+  public void parallelRecursion() {
+    ClusteringSettings settings = ClusteringSettings.builder()
+            .minClusterSize(50)
+            .minAffiliation(0.1)
+            .parallelRecursion(true)
+            .build();
+    Cluster parallelRoot = RecursiveClustering.run(defaultGraph, settings);
+    IntOpenHashSet allClusterVertices = new IntOpenHashSet(parallelRoot.aggregateVertices().iterator());
+    assertThat(parallelRoot.aggregateVertices().size(), is(allClusterVertices.size()));
+    assertThat(allClusterVertices, is(new IntOpenHashSet(defaultGraph.collectVertices())));
+    assertThat(fingerprint(defaultGraph, settings), is(hierarchyFingerprint(parallelRoot, digester())));
+  }
+
   @Test
   public void determinismSmall() {
     verifyDeterminism(defaultGraph, defaultSettings, 10);
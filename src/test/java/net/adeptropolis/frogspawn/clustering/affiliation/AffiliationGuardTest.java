@@ -15,6 +15,10 @@ import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
 import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
 import org.junit.Test;
 
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
+
 import static it.unimi.dsi.fastutil.ints.IntComparators.NATURAL_COMPARATOR;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -84,4 +88,85 @@ public class AffiliationGuardTest extends GraphTestBase {
     assertThat(cluster.getRemainder(), is(IntArrayList.wrap(new int[]{50, 51, 52, 53})));
   }
 
-}
\ No newline at end of file
+  private static final AffiliationMetric REFERENCE_METRIC = new AffiliationMetric() {
+    @Override
+    public double[] compute(Graph supergraph, Graph subgraph) {
+      return METRIC.compute(supergraph, subgraph);
+    }
+
+    @Override
+    public double[] compute(Graph supergraph, Graph subgraph, Graph subsubgraph) {
+      return METRIC.compute(supergraph, subgraph, subsubgraph);
+    }
+  };
+
+  @Test
+  public void incrementalGuardEqualsFullRecomputation() {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      verifyIncrementalGuard(randomGraph(random, new SparseGraphBuilder(), () -> 1 + random.nextInt(10)), random);
+    }
+  }
+
+  @Test
+  public void incrementalGuardEqualsFullRecomputationForRealValuedWeights() {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      verifyIncrementalGuard(randomGraph(random, new SparseGraphBuilder(), () -> 0.1 + 10 * random.nextDouble()), random);
+    }
+  }
+
+  @Test
+  public void symmetricStorageEqualsFullRecomputation() {
+    Random random = new Random(42);
+    verifyIncrementalGuard(randomGraph(random, SparseGraph.symmetricBuilder(), () -> 0.1 + 10 * random.nextDouble()), random);
+  }
+
+  @Test
+  public void remainingWeightsAreExact() {
+    // Subtracting 0.7 from 0.1 + 0.1 + 0.7 would leave vertex 0 with slightly less than 0.1 + 0.1
+    SparseGraph graph = new SparseGraphBuilder()
+            .add(0, 1, 0.1)
+            .add(0, 2, 0.1)
+            .add(0, 3, 0.7)
+            .add(0, 4, 1.0)
+            .add(3, 5, 10.0)
+            .build();
+    Graph candidate = subgraph(graph, 0, 1, 2, 3);
+    double minAffiliation = (0.1 + 0.1) / graph.weightForGlobalId(0);
+    Cluster cluster = new Cluster(graph);
+    Graph result = new AffiliationGuard(METRIC, graph, 0, minAffiliation).ensure(cluster, candidate);
+    assertThat(new IntArrayList(result.globalVertexIdIterator()), is(IntArrayList.wrap(new int[]{0, 1, 2})));
+    assertThat(cluster.getRemainder(), is(IntArrayList.wrap(new int[]{3})));
+  }
+
+  private static SparseGraph randomGraph(Random random, SparseGraphBuilder builder, DoubleSupplier weights) {
+    for (int i = 0; i < 10000; i++) {
+      builder.add(random.nextInt(500), random.nextInt(500), weights.getAsDouble());
+    }
+    return builder.build();
+  }
+
+  private static void verifyIncrementalGuard(SparseGraph graph, Random random) {
+    Graph candidate = graph.subgraph(IntIterators.asIntIterator(IntStream.range(0, graph.order())
+            .filter(v -> random.nextInt(3) > 0).iterator()));
+    for (double minAffiliation : new double[]{0.4, 0.5}) {
+      for (int minClusterSize : new int[]{0, 50, 300, 320}) {
+        Cluster incrementalCluster = new Cluster(graph);
+        Cluster referenceCluster = new Cluster(graph);
+        Graph incremental = new AffiliationGuard(METRIC, graph, minClusterSize, minAffiliation)
+                .ensure(incrementalCluster, candidate);
+        Graph reference = new AffiliationGuard(REFERENCE_METRIC, graph, minClusterSize, minAffiliation)
+                .ensure(referenceCluster, candidate);
+        assertThat(incrementalCluster.getRemainder(), is(referenceCluster.getRemainder()));
+        if (reference == null) {
+          assertThat(incremental, is(nullValue()));
+        } else {
+          assertThat(new IntArrayList(incremental.globalVertexIdIterator()),
+                  is(new IntArrayList(reference.globalVertexIdIterator())));
+        }
+      }
+    }
+  }
+
+}
@@ -322,6 +322,16 @@ public class GraphTestBase {
     return builder.build();
   }
 
+  protected Graph symmetricBandedGraph(int n, int k) {
+    SparseGraphBuilder builder = SparseGraph.symmetricBuilder();
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < Math.min(i + k, n); j++) {
+        builder.add(i, j, 2 * i + 3 * j);
+      }
+    }
+    return builder.build();
+  }
+
   protected Graph butterflyGraph() {
     return new SparseGraphBuilder()
             .add(0, 1, 1)
@@ -385,6 +395,7 @@ public class GraphTestBase {
   }
 
   protected long traverseFingerprint(Graph graph) {
+    fingerprintingConsumer.reset();
     ParallelEdgeOps.traverse(graph, fingerprintingConsumer, TraversalMode.DEFAULT);
     return fingerprintingConsumer.getFingerprint();
   }
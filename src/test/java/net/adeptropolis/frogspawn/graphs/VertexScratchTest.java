@@ -0,0 +1,119 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterators;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class VertexScratchTest {
+
+  @Test
+  public void membership() {
+    try (VertexScratch scratch = VertexScratch.acquire(1000)) {
+      assertThat(scratch.add(17), is(true));
+      assertThat(scratch.add(17), is(false));
+      assertThat(scratch.add(999), is(true));
+      assertThat(scratch.add(0), is(true));
+      assertThat(scratch.contains(17), is(true));
+      assertThat(scratch.contains(18), is(false));
+      assertThat(scratch.cardinality(), is(3));
+      assertThat(scratch.remove(17), is(true));
+      assertThat(scratch.remove(17), is(false));
+      assertThat(scratch.contains(17), is(false));
+      assertThat(scratch.cardinality(), is(2));
+    }
+  }
+
+  @Test
+  public void membersInAscendingOrder() {
+    try (VertexScratch scratch = VertexScratch.acquire(10000)) {
+      scratch.addAll(IntIterators.wrap(new int[]{9999, 64, 63, 5000, 128, 1, 65}));
+      scratch.remove(5000);
+      assertThat(new IntArrayList(scratch.members()), contains(1, 63, 64, 65, 128, 9999));
+    }
+  }
+
+  @Test
+  public void emptySet() {
+    try (VertexScratch scratch = VertexScratch.acquire(100)) {
+      assertThat(scratch.members().hasNext(), is(false));
+      scratch.add(50);
+      scratch.remove(50);
+      assertThat(scratch.members().hasNext(), is(false));
+    }
+  }
+
+  @Test
+  public void clear() {
+    try (VertexScratch scratch = VertexScratch.acquire(1000)) {
+      scratch.addAll(IntIterators.wrap(new int[]{3, 300, 999}));
+      scratch.clear();
+      assertThat(scratch.cardinality(), is(0));
+      assertThat(scratch.contains(300), is(false));
+      assertThat(scratch.members().hasNext(), is(false));
+      scratch.add(500);
+      assertThat(new IntArrayList(scratch.members()), contains(500));
+    }
+  }
+
+  @Test
+  public void pooledInstancesAreCleared() {
+    VertexScratch first = VertexScratch.acquire(500);
+    first.addAll(IntIterators.wrap(new int[]{3, 300, 499}));
+    first.close();
+    try (VertexScratch second = VertexScratch.acquire(200)) {
+      assertThat(second, sameInstance(first));
+      assertThat(second.cardinality(), is(0));
+      assertThat(second.contains(3), is(false));
+      assertThat(second.members().hasNext(), is(false));
+    }
+  }
+
+  @Test
+  public void largeInstancesAreNotPooled() {
+    VertexScratch large = VertexScratch.acquire(20_000_000);
+    large.ints(0);
+    assertThat(large.footprint(), greaterThan(64L << 20));
+    large.close();
+    try (VertexScratch next = VertexScratch.acquire(100)) {
+      assertThat(next, not(sameInstance(large)));
+    }
+  }
+
+  @Test
+  public void releasedPoolsHandOutNewInstances() {
+    VertexScratch first = VertexScratch.acquire(100);
+    first.close();
+    VertexScratch.releasePool();
+    try (VertexScratch second = VertexScratch.acquire(100)) {
+      assertThat(second, not(sameInstance(first)));
+    }
+  }
+
+  @Test
+  public void nestedAcquisitionsAreIndependent() {
+    try (VertexScratch outer = VertexScratch.acquire(100); VertexScratch inner = VertexScratch.acquire(100)) {
+      assertThat(inner, not(sameInstance(outer)));
+      assertThat(inner.ints(0), not(sameInstance(outer.ints(0))));
+      outer.add(5);
+      assertThat(inner.contains(5), is(false));
+    }
+  }
+
+  @Test
+  public void intArrays() {
+    try (VertexScratch scratch = VertexScratch.acquire(100)) {
+      assertThat(scratch.ints(0).length, greaterThanOrEqualTo(101));
+      assertThat(scratch.ints(1), not(sameInstance(scratch.ints(0))));
+      assertThat(scratch.ints(2), sameInstance(scratch.ints(2)));
+    }
+  }
+
+}
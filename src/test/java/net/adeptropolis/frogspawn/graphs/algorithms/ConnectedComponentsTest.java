@@ -8,13 +8,19 @@ package net.adeptropolis.frogspawn.graphs.algorithms;
 import it.unimi.dsi.fastutil.ints.IntIterators;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 
 public class ConnectedComponentsTest extends GraphTestBase {
 
@@ -59,4 +65,43 @@ public class ConnectedComponentsTest extends GraphTestBase {
     assertThat(subgraphs.get(2), contains(4, 5, 6));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void symmetricStorage() {
+    Graph graph = SparseGraph.symmetricBuilder()
+            .add(0, 1, 1)
+            .add(0, 2, 1)
+            .add(1, 2, 1)
+            .add(2, 3, 1)
+            .add(0, 4, 1)
+            .add(0, 5, 1)
+            .add(4, 5, 1)
+            .add(5, 6, 1)
+            .build()
+            .subgraph(IntIterators.wrap(new int[]{1, 3, 4, 5, 6}));
+    List<List<Integer>> subgraphs = getSubgraphs(graph);
+    assertThat(subgraphs, hasSize(3));
+    assertThat(subgraphs.get(0), contains(1));
+    assertThat(subgraphs.get(1), contains(3));
+    assertThat(subgraphs.get(2), contains(4, 5, 6));
+  }
+
+  @Test
+  public void fragmentedGraphInParallel() {
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    for (int i = 0; i < 3000; i += 3) {
+      builder.add(i, i + 1, 1).add(i + 1, i + 2, 1);
+    }
+    for (int i = 3000; i < 9999; i++) {
+      builder.add(i, i + 1, 1);
+    }
+    builder.add(9999, 3000, 1);
+    Graph graph = builder.build();
+    List<List<Integer>> subgraphs = TraversalExecutor.withParallelism(4).call(() -> getSubgraphs(graph));
+    assertThat(subgraphs, hasSize(1001));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(subgraphs.get(i), contains(3 * i, 3 * i + 1, 3 * i + 2));
+    }
+    assertThat(subgraphs.get(1000), is(IntStream.range(3000, 10000).boxed().collect(Collectors.toList())));
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class HeavyEdgeCoarseningTest extends GraphTestBase {
+
+  @Test
+  public void heavyEdgesAreBeingCollapsed() {
+    Graph graph = new SparseGraphBuilder()
+            .add(0, 1, 10)
+            .add(1, 2, 1)
+            .add(2, 3, 10)
+            .add(3, 0, 1)
+            .build();
+    HeavyEdgeCoarsening coarsening = new HeavyEdgeCoarsening(graph, 42);
+    assertThat(coarsening.coarseGraph().order(), is(2));
+    assertThat(coarsening.coarseId(0), is(coarsening.coarseId(1)));
+    assertThat(coarsening.coarseId(2), is(coarsening.coarseId(3)));
+    assertThat(coarsening.coarseId(0), not(coarsening.coarseId(2)));
+    assertThat(coarsening.reduction(), closeTo(0.5, 1E-9));
+  }
+
+  @Test
+  public void vertexWeightsArePreserved() {
+    Graph graph = bandedGraph(500, 7);
+    HeavyEdgeCoarsening coarsening = new HeavyEdgeCoarsening(graph, 42);
+    SparseGraph coarse = coarsening.coarseGraph();
+    assertThat(coarse.order(), lessThan(300));
+    double[] expected = new double[coarse.order()];
+    for (int v = 0; v < graph.order(); v++) {
+      expected[coarsening.coarseId(v)] += graph.weights()[v];
+    }
+    for (int c = 0; c < coarse.order(); c++) {
+      assertThat(coarse.weights()[c], closeTo(expected[c], 1E-6));
+    }
+    assertThat(coarse.totalWeight(), closeTo(graph.totalWeight(), 1E-6));
+  }
+
+  @Test
+  public void symmetricStorage() {
+    HeavyEdgeCoarsening regular = new HeavyEdgeCoarsening(bandedGraph(500, 7), 42);
+    HeavyEdgeCoarsening symmetric = new HeavyEdgeCoarsening(symmetricBandedGraph(500, 7), 42);
+    assertThat(symmetric.coarseGraph().order(), is(regular.coarseGraph().order()));
+    assertThat(traverseFingerprint(symmetric.coarseGraph()), is(traverseFingerprint(regular.coarseGraph())));
+  }
+
+  @Test
+  public void prolongation() {
+    Graph graph = bandedGraph(300, 5);
+    HeavyEdgeCoarsening coarsening = new HeavyEdgeCoarsening(graph, 42);
+    SparseGraph coarse = coarsening.coarseGraph();
+    double[] coarseV0 = new double[coarse.order()];
+    for (int c = 0; c < coarse.order(); c++) {
+      coarseV0[c] = Math.sqrt(coarse.weights()[c] / coarse.totalWeight());
+    }
+    double[] v0 = coarsening.prolong(coarseV0);
+    for (int v = 0; v < graph.order(); v++) {
+      assertThat(v0[v], closeTo(Math.sqrt(graph.weights()[v] / graph.totalWeight()), 1E-9));
+    }
+  }
+
+  @Test
+  public void deterministic() {
+    Graph graph = bandedGraph(300, 5);
+    HeavyEdgeCoarsening first = new HeavyEdgeCoarsening(graph, 1337);
+    HeavyEdgeCoarsening second = new HeavyEdgeCoarsening(graph, 1337);
+    for (int v = 0; v < graph.order(); v++) {
+      assertThat(first.coarseId(v), is(second.coarseId(v)));
+    }
+  }
+
+}
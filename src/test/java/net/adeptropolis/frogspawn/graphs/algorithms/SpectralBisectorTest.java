@@ -6,16 +6,30 @@
 package net.adeptropolis.frogspawn.graphs.algorithms;
 
 import net.adeptropolis.frogspawn.ClusteringSettings;
+import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.EigenSolver;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.PowerIteration;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.PowerIterationException;
 import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.RandomInitialVectorsSource;
+import net.adeptropolis.frogspawn.graphs.algorithms.power_iteration.WarmStartVector;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import net.adeptropolis.frogspawn.helpers.Vectors;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThrows;
 
 public class SpectralBisectorTest extends GraphTestBase {
@@ -39,6 +53,192 @@ public class SpectralBisectorTest extends GraphTestBase {
     assertThat(partitions.get(1), containsInAnyOrder(5, 6, 7, 8));
   }
 
+  @Test
+  public void lanczos() throws PowerIterationException {
+    ClusteringSettings lanczosSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .eigenSolver(EigenSolver.LANCZOS)
+            .build();
+    SpectralBisector bisector = new SpectralBisector(lanczosSettings, IV_SOURCE);
+    SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+    bisector.bisect(completeBipartiteWithWeakLink(), c);
+    List<List<Integer>> partitions = c.vertices();
+    assertThat(partitions.get(0), containsInAnyOrder(0, 1, 2, 3, 4));
+    assertThat(partitions.get(1), containsInAnyOrder(5, 6, 7, 8));
+  }
+
+  @Test
+  public void momentumPowerIteration() throws PowerIterationException {
+    ClusteringSettings momentumSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .eigenSolver(EigenSolver.MOMENTUM_POWER_ITERATION)
+            .build();
+    SpectralBisector bisector = new SpectralBisector(momentumSettings, IV_SOURCE);
+    SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+    bisector.bisect(completeBipartiteWithWeakLink(), c);
+    List<List<Integer>> partitions = c.vertices();
+    assertThat(partitions.get(0), containsInAnyOrder(0, 1, 2, 3, 4));
+    assertThat(partitions.get(1), containsInAnyOrder(5, 6, 7, 8));
+  }
+
+  @Test
+  public void fusedPowerIteration() throws PowerIterationException {
+    ClusteringSettings fusedSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .eigenSolver(EigenSolver.FUSED_POWER_ITERATION)
+            .build();
+    SpectralBisector bisector = new SpectralBisector(fusedSettings, IV_SOURCE);
+    SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+    bisector.bisect(completeBipartiteWithWeakLink(), c);
+    List<List<Integer>> partitions = c.vertices();
+    assertThat(partitions.get(0), containsInAnyOrder(0, 1, 2, 3, 4));
+    assertThat(partitions.get(1), containsInAnyOrder(5, 6, 7, 8));
+  }
+
+  @Test
+  public void multilevel() throws PowerIterationException {
+    ClusteringSettings multilevelSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .coarseningThreshold(50)
+            .build();
+    SpectralBisector bisector = new SpectralBisector(multilevelSettings, IV_SOURCE);
+    SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+    bisector.bisect(plantedPartition(), c);
+    List<List<Integer>> partitions = c.vertices();
+    assertThat(partitions.get(0), is(IntStream.range(0, 400).boxed().collect(Collectors.toList())));
+    assertThat(partitions.get(1), is(IntStream.range(400, 800).boxed().collect(Collectors.toList())));
+  }
+
+  @Test
+  public void multilevelFallsBackToRegularInitialVector() throws PowerIterationException {
+    ClusteringSettings multilevelSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(20)
+            .convergenceThreshold(0.999)
+            .coarseningThreshold(50)
+            .maxIterations(25)
+            .build();
+    RandomInitialVectorsSource ivSource = new RandomInitialVectorsSource(1337421337L) {
+      @Override
+      public double[] generate(int size) {
+        if (size < 800) {
+          return super.generate(size);
+        }
+        double[] iv = new double[size];
+        Arrays.fill(iv, 0, size / 2, 1.0);
+        Arrays.fill(iv, size / 2, size, -1.0);
+        Vectors.normalize2Sig(iv);
+        return iv;
+      }
+    };
+    SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+    new SpectralBisector(multilevelSettings, ivSource).bisect(plantedPartition(), c);
+    List<List<Integer>> partitions = c.vertices();
+    assertThat(partitions.get(0), is(IntStream.range(0, 400).boxed().collect(Collectors.toList())));
+    assertThat(partitions.get(1), is(IntStream.range(400, 800).boxed().collect(Collectors.toList())));
+  }
+
+  @Test
+  public void warmStart() throws PowerIterationException {
+    ClusteringSettings warmStartSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .warmStart(true)
+            .build();
+    SpectralBisector bisector = new SpectralBisector(warmStartSettings, IV_SOURCE);
+    List<Graph> partitions = new ArrayList<>();
+    WarmStartVector warmStart = bisector.bisect(hierarchicalPlantedPartition(), null, partitions::add);
+    assertThat(warmStart, notNullValue());
+    assertThat(partitions.stream().map(SpectralBisectorTest::partitionVertices).collect(Collectors.toList()), containsInAnyOrder(
+            IntStream.range(0, 400).boxed().collect(Collectors.toList()),
+            IntStream.range(400, 800).boxed().collect(Collectors.toList())));
+    for (Graph partition : partitions) {
+      SubgraphCollectingConsumer c = new SubgraphCollectingConsumer();
+      assertThat(bisector.bisect(partition, warmStart, c), notNullValue());
+      int offset = partitionVertices(partition).get(0);
+      assertThat(c.vertices(), contains(
+              IntStream.range(offset, offset + 200).boxed().collect(Collectors.toList()),
+              IntStream.range(offset + 200, offset + 400).boxed().collect(Collectors.toList())));
+    }
+  }
+
+  private static List<Integer> partitionVertices(Graph graph) {
+    List<Integer> vertices = new ArrayList<>();
+    VertexIterator it = graph.vertexIterator();
+    while (it.hasNext()) {
+      vertices.add(it.globalId());
+    }
+    vertices.sort(Integer::compareTo);
+    return vertices;
+  }
+
+  private static Graph hierarchicalPlantedPartition() {
+    Random random = new Random(1337);
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    for (int i = 0; i < 800; i++) {
+      int block = (i / 200) * 200;
+      int half = (i / 400) * 400;
+      for (int k = 0; k < 8; k++) {
+        builder.add(i, block + random.nextInt(200), 1);
+      }
+      builder.add(i, block + (i + 1) % 200, 1);
+      if (random.nextInt(4) == 0) {
+        builder.add(i, half + random.nextInt(400), 1);
+      }
+    }
+    builder.add(17, 523, 1);
+    builder.add(311, 777, 1);
+    return builder.build();
+  }
+
+  private static Graph plantedPartition() {
+    Random random = new Random(1337);
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    for (int i = 0; i < 800; i++) {
+      int offset = (i < 400) ? 0 : 400;
+      for (int k = 0; k < 8; k++) {
+        builder.add(i, offset + random.nextInt(400), 1);
+      }
+      builder.add(i, offset + (i + 1) % 400, 1);
+    }
+    builder.add(17, 523, 1);
+    builder.add(311, 777, 1);
+    return builder.build();
+  }
+
+  @Test
+  public void materializedSubgraphs() throws PowerIterationException {
+    ClusteringSettings materializingSettings = ClusteringSettings.builder()
+            .minClusterSize(0)
+            .minAffiliation(0)
+            .trailSize(100)
+            .convergenceThreshold(0.999)
+            .materializationThreshold(0)
+            .build();
+    Graph graph = subgraph(completeBipartiteWithWeakLink(), IntStream.range(0, 9).toArray());
+    SubgraphCollectingConsumer expected = new SubgraphCollectingConsumer();
+    SubgraphCollectingConsumer actual = new SubgraphCollectingConsumer();
+    new SpectralBisector(settings, new RandomInitialVectorsSource(1337421337L)).bisect(graph, expected);
+    new SpectralBisector(materializingSettings, new RandomInitialVectorsSource(1337421337L)).bisect(graph, actual);
+    assertThat(actual.vertices(), is(expected.vertices()));
+    assertThat(actual.vertices().get(0), containsInAnyOrder(0, 1, 2, 3, 4));
+  }
+
   @Test
   public void iterationExcessYieldsException() {
     SpectralBisector bisector = new SpectralBisector(settings, IV_SOURCE);
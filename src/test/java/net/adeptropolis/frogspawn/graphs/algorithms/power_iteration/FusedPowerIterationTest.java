@@ -0,0 +1,105 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalExecutor;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+public class FusedPowerIterationTest extends GraphTestBase {
+
+  private static final RandomInitialVectorsSource RANDOM_IV = new RandomInitialVectorsSource(42133742L);
+
+  @Test
+  public void equalsPowerIteration() throws PowerIterationException {
+    Graph graph = plantedPartition(10000);
+    double[] iv = RANDOM_IV.generate(graph.order());
+    ConstantSigTrailConvergence expectedConvergence = new ConstantSigTrailConvergence(graph, 20, 0.95);
+    double[] expected = PowerIteration.apply(new ShiftedNormalizedLaplacian(graph), expectedConvergence, iv, 540, false);
+    ConstantSigTrailConvergence convergence = new ConstantSigTrailConvergence(graph, 20, 0.95);
+    double[] r = FusedPowerIteration.apply(new ShiftedNormalizedLaplacian(graph), convergence, iv, 540);
+    for (int i = 0; i < graph.order(); i++) {
+      assertThat(r[i], closeTo(expected[i], 1E-9));
+    }
+    expectedConvergence.postprocess(expected);
+    convergence.postprocess(r);
+    for (int i = 0; i < graph.order(); i++) {
+      assertThat(Math.signum(r[i]), is(Math.signum(expected[i])));
+    }
+  }
+
+  @Test
+  public void independentOfParallelism() {
+    Graph graph = plantedPartition(10000);
+    double[] iv = RANDOM_IV.generate(graph.order());
+    double[] sequential = TraversalExecutor.sequential().call(() -> fusedPowerIteration(graph, iv));
+    double[] parallel = TraversalExecutor.withParallelism(4).call(() -> fusedPowerIteration(graph, iv));
+    assertThat(parallel, is(sequential));
+  }
+
+  @Test
+  public void initialVectorIsNotModified() throws PowerIterationException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(EIGEN_REF_GRAPH);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] ivCopy = iv.clone();
+    double[] r = FusedPowerIteration.apply(op, new ConstantSigTrailConvergence(EIGEN_REF_GRAPH, 10, 1.0), iv, 1000);
+    assertThat(iv, is(ivCopy));
+    assertThat(r, not(sameInstance(iv)));
+  }
+
+  @Test
+  public void iterationsExcess() {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(WEIGHTED_K20);
+    double[] iv = RANDOM_IV.generate(op.size());
+    assertThrows(PowerIteration.MaxIterationsExceededException.class,
+            () -> FusedPowerIteration.apply(op, new ConstantSigTrailConvergence(WEIGHTED_K20, 10, 1.0), iv, 5));
+  }
+
+  @Test
+  public void blockBoundaries() {
+    assertThat(FusedPowerIteration.blockBoundaries(0), is(new int[]{0, 0}));
+    assertThat(FusedPowerIteration.blockBoundaries(10), is(new int[]{0, 10}));
+    assertThat(FusedPowerIteration.blockBoundaries(2 * FusedPowerIteration.BLOCK_SIZE),
+            is(new int[]{0, FusedPowerIteration.BLOCK_SIZE, 2 * FusedPowerIteration.BLOCK_SIZE}));
+    assertThat(FusedPowerIteration.blockBoundaries(FusedPowerIteration.BLOCK_SIZE + 1),
+            is(new int[]{0, FusedPowerIteration.BLOCK_SIZE, FusedPowerIteration.BLOCK_SIZE + 1}));
+  }
+
+  private static double[] fusedPowerIteration(Graph graph, double[] iv) {
+    try {
+      return FusedPowerIteration.apply(new ShiftedNormalizedLaplacian(graph), new ConstantSigTrailConvergence(graph, 20, 0.95), iv, 540);
+    } catch (PowerIterationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Graph plantedPartition(int n) {
+    Random random = new Random(1337);
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    int half = n / 2;
+    for (int i = 0; i < n; i++) {
+      int offset = (i < half) ? 0 : half;
+      for (int k = 0; k < 6; k++) {
+        builder.add(i, offset + random.nextInt(half), 1);
+      }
+      builder.add(i, offset + (i + 1) % half, 1);
+    }
+    for (int i = 0; i < 20; i++) {
+      builder.add(random.nextInt(half), half + random.nextInt(half), 1);
+    }
+    return builder.build();
+  }
+
+}
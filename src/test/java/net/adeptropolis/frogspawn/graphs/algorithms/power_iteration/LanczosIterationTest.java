@@ -0,0 +1,99 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.matrices.AdjacencyMatrix;
+import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class LanczosIterationTest extends GraphTestBase {
+
+  private static final RandomInitialVectorsSource RANDOM_IV = new RandomInitialVectorsSource(42133742L);
+
+  private static void assertEigenvector(double[] r, double[] expected, double tolerance) {
+    double sig = Math.signum(r[0]) * Math.signum(expected[0]);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(sig * r[i], closeTo(expected[i], tolerance));
+    }
+  }
+
+  @Test
+  public void matrix() throws PowerIteration.MaxIterationsExceededException {
+    double[] expected = new double[]{0.35596, 0.33434, 0.34380, 0.30277, 0.27799, 0.29129, 0.32165, 0.27372, 0.29246, 0.35439};
+    AdjacencyMatrix op = new AdjacencyMatrix(SOME_10_GRAPH);
+    double[] iv = RANDOM_IV.generate(10);
+    double[] r = LanczosIteration.apply(op, new DeltaNormConvergence(1E-6), iv, 10000, 4);
+    assertEigenvector(r, expected, 1E-5);
+  }
+
+  @Test
+  public void iterationsExcess() {
+    AdjacencyMatrix op = new AdjacencyMatrix(SOME_10_GRAPH);
+    double[] iv = RANDOM_IV.generate(10);
+    assertThrows(PowerIteration.MaxIterationsExceededException.class,
+            () -> LanczosIteration.apply(op, new DeltaNormConvergence(1E-18), iv, 5, 20));
+  }
+
+  @Test
+  public void normalizedLaplacian() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(EIGEN_REF_GRAPH);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] r = LanczosIteration.apply(op, new DeltaNormConvergence(1E-9), iv, 1000, 20);
+    assertEigenvector(r, new double[]{0.33423, 0.18452, -0.59518, 0.33423, 0.18452, -0.59518}, 1E-5);
+  }
+
+  @Test
+  public void weightedK20NormalizedLaplacian() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(WEIGHTED_K20);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] r = LanczosIteration.apply(op, new DeltaNormConvergence(1E-9), iv, 10000, 8);
+    double[] expected = new double[]{0.422554, -0.102237, 0.287406, 0.100775, -0.178143, -0.115820, -0.033225, -0.029026, -0.107263, -0.208185, -0.271339, 0.262986, 0.152637, 0.060499, 0.319281, -0.189389, -0.366464, 0.155779, 0.221442, -0.318028};
+    assertEigenvector(r, expected, 1E-5);
+  }
+
+  @Test
+  public void fewerIterationsOnSmallSpectralGaps() throws PowerIteration.MaxIterationsExceededException {
+    Graph graph = largeCircle(60);
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(graph);
+    double[] iv = RANDOM_IV.generate(op.size());
+    AtomicInteger lanczosIterations = new AtomicInteger();
+    AtomicInteger powerIterations = new AtomicInteger();
+    double[] lanczos = LanczosIteration.apply(op, countingCriterion(lanczosIterations), iv.clone(), 100000, 30);
+    double[] power = PowerIteration.apply(op, countingCriterion(powerIterations), iv.clone(), 100000, false);
+    assertThat(lanczosIterations.get() * 10, lessThan(powerIterations.get()));
+    assertEigenvector(lanczos, power, 1E-3);
+  }
+
+  private static ConvergenceCriterion countingCriterion(AtomicInteger iterations) {
+    ConvergenceCriterion criterion = new DeltaNormConvergence(1E-8);
+    return (previous, current, i) -> {
+      iterations.incrementAndGet();
+      return criterion.satisfied(previous, current, i);
+    };
+  }
+
+  @Test
+  public void tridiagonalEigenvector() {
+    double[] alpha = new double[]{2, 2, 2, 2};
+    double[] beta = new double[]{-1, -1, -1, 0};
+    double[] v = LanczosIteration.largestEigenvector(alpha, beta, 4);
+    double sig = Math.signum(v[0]);
+    double[] expected = new double[]{0.371748, -0.601501, 0.601501, -0.371748};
+    for (int i = 0; i < 4; i++) {
+      assertThat(sig * v[i], closeTo(expected[i], 1E-6));
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.matrices.ShiftedNormalizedLaplacian;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class MomentumPowerIterationTest extends GraphTestBase {
+
+  private static final RandomInitialVectorsSource RANDOM_IV = new RandomInitialVectorsSource(42133742L);
+
+  private static void assertEigenvector(double[] r, double[] expected, double tolerance) {
+    double sig = Math.signum(r[0]) * Math.signum(expected[0]);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(sig * r[i], closeTo(expected[i], tolerance));
+    }
+  }
+
+  private static ConvergenceCriterion countingCriterion(AtomicInteger iterations) {
+    ConvergenceCriterion criterion = new DeltaNormConvergence(1E-8);
+    return (previous, current, i) -> {
+      iterations.incrementAndGet();
+      return criterion.satisfied(previous, current, i);
+    };
+  }
+
+  @Test
+  public void normalizedLaplacian() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(EIGEN_REF_GRAPH);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] r = MomentumPowerIteration.apply(op, new DeltaNormConvergence(1E-9), iv, 1000, 0.9);
+    assertEigenvector(r, new double[]{0.33423, 0.18452, -0.59518, 0.33423, 0.18452, -0.59518}, 1E-5);
+  }
+
+  @Test
+  public void weightedK20NormalizedLaplacian() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(WEIGHTED_K20);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] r = MomentumPowerIteration.apply(op, new DeltaNormConvergence(1E-9), iv, 10000, 0.9);
+    double[] expected = new double[]{0.422554, -0.102237, 0.287406, 0.100775, -0.178143, -0.115820, -0.033225, -0.029026, -0.107263, -0.208185, -0.271339, 0.262986, 0.152637, 0.060499, 0.319281, -0.189389, -0.366464, 0.155779, 0.221442, -0.318028};
+    assertEigenvector(r, expected, 1E-5);
+  }
+
+  @Test
+  public void iterationsExcess() {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(WEIGHTED_K20);
+    double[] iv = RANDOM_IV.generate(op.size());
+    assertThrows(PowerIteration.MaxIterationsExceededException.class,
+            () -> MomentumPowerIteration.apply(op, new DeltaNormConvergence(1E-18), iv, 5, 0.9));
+  }
+
+  @Test
+  public void zeroMomentumEqualsPowerIteration() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(WEIGHTED_K20);
+    double[] iv = RANDOM_IV.generate(op.size());
+    double[] expected = PowerIteration.apply(op, new DeltaNormConvergence(1E-6), iv.clone(), 1000, false).clone();
+    double[] r = MomentumPowerIteration.apply(op, new DeltaNormConvergence(1E-6), iv.clone(), 1000, 0);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(r[i], closeTo(expected[i], 1E-12));
+    }
+  }
+
+  @Test
+  public void fewerIterationsOnSmallSpectralGaps() throws PowerIteration.MaxIterationsExceededException {
+    ShiftedNormalizedLaplacian op = new ShiftedNormalizedLaplacian(largeCircle(60));
+    double[] iv = RANDOM_IV.generate(op.size());
+    AtomicInteger momentumIterations = new AtomicInteger();
+    AtomicInteger powerIterations = new AtomicInteger();
+    double[] momentum = MomentumPowerIteration.apply(op, countingCriterion(momentumIterations), iv.clone(), 100000, 0.99);
+    double[] power = PowerIteration.apply(op, countingCriterion(powerIterations), iv.clone(), 100000, false).clone();
+    assertThat(momentumIterations.get() * 3, lessThan(powerIterations.get()));
+    assertEigenvector(momentum, power, 1E-3);
+  }
+
+}
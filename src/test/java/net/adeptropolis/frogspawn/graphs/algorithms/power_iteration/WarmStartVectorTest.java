@@ -0,0 +1,83 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.algorithms.power_iteration;
+
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.helpers.Vectors;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class WarmStartVectorTest extends GraphTestBase {
+
+  private static double[] parentVector(Graph graph) {
+    double[] v = new double[graph.order()];
+    for (int i = 0; i < v.length; i++) {
+      v[i] = Math.sqrt(graph.weights()[i]) * (i + 1);
+    }
+    Vectors.normalize2(v);
+    return v;
+  }
+
+  @Test
+  public void restrictionIsOrthogonalToTrivialEigenvector() {
+    Graph graph = bandedGraph(100, 5);
+    WarmStartVector warmStart = new WarmStartVector(graph, graph.weights(), parentVector(graph));
+    Graph subgraph = subgraph(graph, 10, 11, 12, 13, 14, 15, 16, 17, 40, 41, 42);
+    double[] iv = warmStart.restrict(subgraph);
+    assertThat(iv.length, is(subgraph.order()));
+    assertThat(Vectors.norm2(iv), closeTo(1, 1E-9));
+    double proj = 0;
+    for (int i = 0; i < iv.length; i++) {
+      proj += iv[i] * Math.sqrt(subgraph.weights()[i]);
+    }
+    assertThat(proj, closeTo(0, 1E-9));
+  }
+
+  @Test
+  public void restrictionPreservesOrdering() {
+    Graph graph = bandedGraph(100, 5);
+    WarmStartVector warmStart = new WarmStartVector(graph, graph.weights(), parentVector(graph));
+    Graph subgraph = subgraph(graph, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29);
+    double[] iv = warmStart.restrict(subgraph);
+    VertexIterator it = subgraph.vertexIterator();
+    double[] generalized = new double[iv.length];
+    while (it.hasNext()) {
+      generalized[it.localId()] = iv[it.localId()] / Math.sqrt(subgraph.weights()[it.localId()]);
+    }
+    for (int i = 1; i < generalized.length; i++) {
+      assertThat(generalized[i], greaterThan(generalized[i - 1]));
+    }
+  }
+
+  @Test
+  public void trivialRestrictionYieldsNull() {
+    Graph graph = bandedGraph(100, 5);
+    double[] v0 = new double[graph.order()];
+    for (int i = 0; i < v0.length; i++) {
+      v0[i] = Math.sqrt(graph.weights()[i] / graph.totalWeight());
+    }
+    WarmStartVector warmStart = new WarmStartVector(graph, graph.weights(), v0);
+    assertThat(warmStart.restrict(subgraph(graph, 10, 11, 12, 13, 14)), nullValue());
+    assertThat(warmStart.restrict(subgraph(graph, 10)), nullValue());
+  }
+
+  @Test
+  public void restrictionFromSubgraphs() {
+    Graph root = bandedGraph(100, 5);
+    Graph parent = subgraph(root, 30, 31, 32, 33, 34, 35, 36, 37, 38, 39, 50, 51, 52);
+    double[] v = parentVector(parent);
+    WarmStartVector warmStart = new WarmStartVector(parent, parent.weights(), v);
+    Graph child = subgraph(parent, 50, 51, 52);
+    double[] iv = warmStart.restrict(child);
+    assertThat(iv.length, is(3));
+    assertThat(Vectors.norm2(iv), closeTo(1, 1E-9));
+  }
+
+}
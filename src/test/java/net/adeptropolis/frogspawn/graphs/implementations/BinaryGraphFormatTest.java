@@ -0,0 +1,76 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class BinaryGraphFormatTest extends GraphTestBase {
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+  }
+
+  @Test
+  public void roundTrip() {
+    SparseGraph graph = (SparseGraph) bandedGraph(1000, 50);
+    BinaryGraphFormat.write(graph, null, file);
+    SparseGraph loaded = BinaryGraphFormat.read(file);
+    assertThat(loaded.order(), is(graph.order()));
+    assertThat(loaded.size(), is(graph.size()));
+    assertThat(traverseFingerprint(loaded), is(bandedGraphFingerprint(1000, 50)));
+    assertThat(BinaryGraphFormat.readLabeling(file), nullValue());
+  }
+
+  @Test
+  public void sectionsAreAligned() {
+    SparseGraph graph = SparseGraph.builder().add(0, 1, 2).add(1, 2, 3).add(0, 2, 5).build();
+    BinaryGraphFormat.write(graph, null, file);
+    long pointersBytes = (graph.order() + 1L) * Long.BYTES;
+    long edgesBytes = ((graph.size() * Integer.BYTES + 7) / 8) * 8;
+    assertThat(file.length(), is(BinaryGraphFormat.HEADER_SIZE + pointersBytes + edgesBytes + graph.size() * Double.BYTES));
+  }
+
+  @Test
+  public void labeling() {
+    BinaryGraphFormat.write(WEIGHTED_K20, "some-labeling", file);
+    String labeling = BinaryGraphFormat.readLabeling(file);
+    assertThat(labeling, is("some-labeling"));
+    assertThat(traverseFingerprint(BinaryGraphFormat.read(file)), is(traverseFingerprint(WEIGHTED_K20)));
+  }
+
+  @Test
+  public void emptyGraph() {
+    SparseGraph graph = SparseGraph.builder().build();
+    BinaryGraphFormat.write(graph, null, file);
+    SparseGraph loaded = BinaryGraphFormat.read(file);
+    assertThat(loaded.order(), is(0));
+    assertThat(loaded.size(), is(0L));
+  }
+
+  @Test(expected = GraphStorageException.class)
+  public void invalidMagic() throws IOException {
+    try (FileOutputStream fos = new FileOutputStream(file)) {
+      fos.write(new byte[BinaryGraphFormat.HEADER_SIZE]);
+    }
+    BinaryGraphFormat.read(file);
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterators;
+import net.adeptropolis.frogspawn.graphs.Edge;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.CompressedInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.OffHeapInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.QuantizedDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.UnitDoubles;
+import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static net.adeptropolis.frogspawn.graphs.implementations.SparseGraph.builder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CompactSubgraphTest extends GraphTestBase {
+
+  private static final SparseGraph defaultGraph = builder()
+          .add(0, 1, 2)
+          .add(1, 2, 3)
+          .add(4, 9, 5)
+          .add(4, 10, 7)
+          .add(4, 11, 11)
+          .add(9, 11, 13)
+          .build();
+
+  private static CompactSubgraph materialize(Graph graph, int... vertices) {
+    return ((SparseSubgraph) subgraph(graph, vertices)).materialize();
+  }
+
+  @Test
+  public void orderAndSize() {
+    CompactSubgraph compact = materialize(defaultGraph, 1, 2, 4, 9, 11);
+    assertThat(compact.order(), is(5));
+    assertThat(compact.size(), is(8L));
+  }
+
+  @Test
+  public void vertices() {
+    VertexIterator it = materialize(defaultGraph, 4, 9, 10).vertexIterator();
+    IntArrayList localIds = new IntArrayList();
+    IntArrayList globalIds = new IntArrayList();
+    while (it.hasNext()) {
+      localIds.add(it.localId());
+      globalIds.add(it.globalId());
+    }
+    assertThat(localIds, contains(0, 1, 2));
+    assertThat(globalIds, contains(4, 9, 10));
+  }
+
+  @Test
+  public void vertexIdMapping() {
+    CompactSubgraph compact = materialize(defaultGraph, 1, 4, 9, 11);
+    assertThat(compact.globalVertexId(2), is(9));
+    assertThat(compact.localVertexId(11), is(3));
+    assertThat(compact.localVertexId(10), lessThan(0));
+    assertThat(compact.collectVertices(), is(new int[]{1, 4, 9, 11}));
+  }
+
+  @Test
+  public void edges() {
+    materialize(defaultGraph, 1, 2, 4, 9, 11).traverseParallel(consumer);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(0, 1, 3),
+            Edge.of(1, 0, 3),
+            Edge.of(2, 3, 5),
+            Edge.of(3, 2, 5),
+            Edge.of(2, 4, 11),
+            Edge.of(4, 2, 11),
+            Edge.of(3, 4, 13),
+            Edge.of(4, 3, 13)));
+  }
+
+  @Test
+  public void emptySubgraph() {
+    CompactSubgraph compact = materialize(defaultGraph);
+    assertThat(compact.order(), is(0));
+    assertThat(compact.size(), is(0L));
+    assertThat(compact.vertexIterator().hasNext(), is(false));
+  }
+
+  @Test
+  public void traversalMatchesSparseSubgraph() {
+    Graph graph = bandedGraph(1000, 50);
+    int[] vertices = IntStream.range(0, 1000).filter(i -> i % 3 != 0).toArray();
+    Graph sparse = subgraph(graph, vertices);
+    CompactSubgraph compact = ((SparseSubgraph) sparse).materialize();
+    assertThat(compact.size(), is(sparse.size()));
+    assertThat(traverseFingerprint(compact), is(traverseFingerprint(sparse)));
+  }
+
+  @Test
+  public void symmetricStorage() {
+    Graph graph = symmetricBandedGraph(1000, 50);
+    int[] vertices = IntStream.range(0, 1000).filter(i -> i % 3 != 0).toArray();
+    Graph sparse = subgraph(graph, vertices);
+    CompactSubgraph compact = ((SparseSubgraph) sparse).materialize();
+    assertThat(compact.symmetricStorage(), is(true));
+    assertThat(traverseFingerprint(compact), is(traverseFingerprint(sparse)));
+    for (int v : new int[]{0, 17, 665}) {
+      CollectingEdgeConsumer expected = new CollectingEdgeConsumer();
+      CollectingEdgeConsumer actual = new CollectingEdgeConsumer();
+      sparse.traverseIncidentEdges(v, expected, TraversalMode.DEFAULT);
+      compact.traverseIncidentEdges(v, actual, TraversalMode.DEFAULT);
+      assertThat(actual.getEdges(), is(expected.getEdges()));
+    }
+  }
+
+  @Test
+  public void keepsOffHeapStorage() {
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 20)).offHeap();
+    int[] vertices = IntStream.range(0, 1000).filter(i -> i % 4 != 0).toArray();
+    CompactSubgraph compact = materialize(graph, vertices);
+    assertThat(compact.datastore().edges, instanceOf(OffHeapInts.class));
+    assertThat(compact.datastore().weights, instanceOf(OffHeapDoubles.class));
+    assertThat(traverseFingerprint(compact), is(traverseFingerprint(subgraph(graph, vertices))));
+  }
+
+  @Test
+  public void keepsCompressedEdgesAndReducedPrecisionWeights() {
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 20)).compressed().withWeightStorage(WeightStorage.QUANTIZED);
+    int[] vertices = IntStream.range(0, 1000).filter(i -> i % 4 != 0).toArray();
+    CompactSubgraph compact = materialize(graph, vertices);
+    assertThat(compact.datastore().edges, instanceOf(CompressedInts.class));
+    assertThat(compact.datastore().weights, instanceOf(QuantizedDoubles.class));
+    assertThat(compact.size(), is(subgraph(graph, vertices).size()));
+    CompactSubgraph unweighted = materialize(graph.withWeightStorage(WeightStorage.UNIT), vertices);
+    assertThat(unweighted.datastore().weights, instanceOf(UnitDoubles.class));
+  }
+
+  @Test
+  public void multiplication() {
+    Graph graph = bandedGraph(500, 20);
+    int[] vertices = IntStream.range(0, 500).filter(i -> i % 4 != 1).toArray();
+    Graph sparse = subgraph(graph, vertices);
+    CompactSubgraph compact = ((SparseSubgraph) sparse).materialize();
+    double[] argument = IntStream.range(0, sparse.order()).mapToDouble(i -> 1.0 / (i + 1)).toArray();
+    double[] expected = new double[sparse.order()];
+    double[] actual = new double[sparse.order()];
+    sparse.multiplyAdjacency(0, sparse.order(), argument, expected);
+    compact.multiplyAdjacency(0, compact.order(), argument, actual);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(actual[i], closeTo(expected[i], 1E-9));
+    }
+  }
+
+  @Test
+  public void subgraphsReferToRootGraph() {
+    CompactSubgraph compact = materialize(defaultGraph, 1, 2, 4, 9, 11);
+    Graph sub = compact.subgraph(IntIterators.wrap(new int[]{4, 9, 11}));
+    assertThat(sub, instanceOf(SparseSubgraph.class));
+    assertThat(sub.size(), is(6L));
+    Graph localSub = compact.localSubgraph(IntIterators.wrap(new int[]{0, 1}));
+    assertThat(localSub.collectVertices(), is(new int[]{1, 2}));
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static net.adeptropolis.frogspawn.graphs.implementations.arrays.Helpers.assertEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrentGraphBuilderTest {
+
+  @Test
+  public void emptyGraph() {
+    SparseGraph graph = new ConcurrentGraphBuilder().build();
+    assertThat(graph.order(), is(0));
+    assertThat(graph.size(), is(0L));
+  }
+
+  @Test
+  public void singleProducer() {
+    CSRDatastore datastore = new ConcurrentGraphBuilder()
+            .add(1, 3, 11)
+            .add(1, 2, 7)
+            .add(0, 6, 2)
+            .add(0, 5, 3)
+            .add(0, 4, 5)
+            .build()
+            .datastore();
+    assertThat(datastore.order(), is(7));
+    assertThat(datastore.size(), is(10L));
+    assertEquals("Vertex pointers", datastore.pointers, 0L, 3L, 5L, 6L, 7L, 8L, 9L, 10L);
+    assertEquals("Edges", datastore.edges, 4, 5, 6, 2, 3, 1, 1, 0, 0, 0);
+    assertEquals("Weights", datastore.weights, 5, 3, 2, 7, 11, 7, 11, 5, 3, 2);
+  }
+
+  @Test
+  public void multipleProducers() throws InterruptedException {
+    ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      executor.submit(() -> {
+        for (int rep = 0; rep < 10; rep++) {
+          for (int i = 0; i < 100; i++) {
+            for (int j = i + 1; j < 100; j++) {
+              builder.add(i, j, 1);
+            }
+          }
+        }
+      });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES), is(true));
+    SparseGraph graph = builder.build();
+    assertThat(graph.order(), is(100));
+    assertThat(graph.size(), is(100L * 99L));
+    graph.traverse((u, v, weight) -> assertThat(weight, is(80.0)));
+  }
+
+  @Test
+  public void addAfterBuildThrows() {
+    ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder();
+    builder.add(0, 1, 1).build();
+    assertThrows(IllegalStateException.class, () -> builder.add(1, 2, 1));
+  }
+
+  @Test
+  public void secondBuildThrows() {
+    ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder();
+    builder.add(0, 1, 1).build();
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+  @Test
+  public void negativeWeights() {
+    ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder();
+    assertThrows(GraphConstructionException.class, () -> builder.add(0, 1, -1));
+  }
+
+}
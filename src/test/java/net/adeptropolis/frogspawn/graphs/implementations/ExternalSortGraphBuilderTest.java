@@ -0,0 +1,125 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigInts;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static net.adeptropolis.frogspawn.graphs.implementations.arrays.Helpers.assertEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
+
+public class ExternalSortGraphBuilderTest {
+
+  @Rule
+  public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void emptyGraph() throws IOException {
+    SparseGraph graph = new ExternalSortGraphBuilder(16, tmpDir.newFolder()).build();
+    assertThat(graph.order(), is(0));
+    assertThat(graph.size(), is(0L));
+  }
+
+  @Test
+  public void inMemory() throws IOException {
+    CSRDatastore datastore = entrySortingGraph(new ExternalSortGraphBuilder(1000, tmpDir.newFolder()));
+    verifyEntrySortingGraph(datastore);
+  }
+
+  @Test
+  public void spilled() throws IOException {
+    CSRDatastore datastore = entrySortingGraph(new ExternalSortGraphBuilder(3, tmpDir.newFolder()));
+    verifyEntrySortingGraph(datastore);
+  }
+
+  private static CSRDatastore entrySortingGraph(ExternalSortGraphBuilder builder) {
+    return builder
+            .add(1, 3, 11)
+            .add(1, 2, 7)
+            .add(0, 6, 1)
+            .add(0, 5, 3)
+            .add(0, 4, 5)
+            .add(6, 0, 1)
+            .build()
+            .datastore();
+  }
+
+  private static void verifyEntrySortingGraph(CSRDatastore datastore) {
+    assertThat(datastore.order(), is(7));
+    assertThat(datastore.size(), is(10L));
+    assertEquals("Vertex pointers", datastore.pointers, 0L, 3L, 5L, 6L, 7L, 8L, 9L, 10L);
+    assertEquals("Edges", datastore.edges, 4, 5, 6, 2, 3, 1, 1, 0, 0, 0);
+    assertEquals("Weights", datastore.weights, 5, 3, 2, 7, 11, 7, 11, 5, 3, 2);
+  }
+
+  @Test
+  public void matchesInMemoryBuilder() throws IOException {
+    Random random = new Random(1337L);
+    SparseGraphBuilder reference = new SparseGraphBuilder();
+    ExternalSortGraphBuilder builder = new ExternalSortGraphBuilder(100, tmpDir.newFolder());
+    for (int i = 0; i < 100000; i++) {
+      int u = random.nextInt(1000);
+      int v = random.nextInt(1000);
+      int weight = random.nextInt(10);
+      reference.add(u, v, weight);
+      builder.add(u, v, weight);
+    }
+    CSRDatastore expected = reference.buildDatastore();
+    CSRDatastore datastore = builder.build().datastore();
+    assertThat(datastore.order(), is(expected.order()));
+    assertThat(datastore.size(), is(expected.size()));
+    assertThat(datastore.pointers, is(expected.pointers));
+    for (long i = 0; i < expected.size(); i++) {
+      assertThat(datastore.edges.get(i), is(expected.edges.get(i)));
+      assertThat(datastore.weights.get(i), is(expected.weights.get(i)));
+    }
+  }
+
+  @Test
+  public void runsAreDeleted() throws IOException {
+    File dir = tmpDir.newFolder();
+    ExternalSortGraphBuilder builder = new ExternalSortGraphBuilder(2, dir);
+    for (int i = 0; i < 500; i++) {
+      builder.add(i, i + 1, 1);
+    }
+    assertThat(builder.build().order(), is(501));
+    assertThat(dir.listFiles(), emptyArray());
+  }
+
+  @Test
+  public void sinkCapacityTracksDistinctEdges() throws IOException {
+    ExternalSortGraphBuilder builder = new ExternalSortGraphBuilder(10000, tmpDir.newFolder());
+    for (int round = 0; round < 100; round++) {
+      for (int u = 0; u < 100; u++) {
+        for (int v = 0; v < 50; v++) {
+          builder.addDirected(u, v, 1);
+        }
+      }
+    }
+    ExternalSortGraphBuilder.CSRSink sink = new ExternalSortGraphBuilder.CSRSink(100);
+    CSRDatastore datastore = builder.buildDatastore(sink);
+    assertThat(datastore.size(), is(5000L));
+    assertThat(datastore.weights.get(0), is(100.0));
+    assertThat(sink.capacity(), lessThanOrEqualTo(datastore.size() + (1L << BigInts.BIN_BITS)));
+  }
+
+  @Test
+  public void negativeWeights() {
+    ExternalSortGraphBuilder builder = new ExternalSortGraphBuilder(16);
+    assertThrows(GraphConstructionException.class, () -> builder.add(0, 1, -1));
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static net.adeptropolis.frogspawn.graphs.implementations.arrays.Helpers.assertEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class PreAggregatingGraphBuilderTest {
+
+  @Test
+  public void emptyGraph() {
+    SparseGraph graph = new PreAggregatingGraphBuilder(0, 16).build();
+    assertThat(graph.order(), is(0));
+    assertThat(graph.size(), is(0L));
+  }
+
+  @Test
+  public void aggregation() {
+    CSRDatastore datastore = new PreAggregatingGraphBuilder(4, 16)
+            .add(0, 1, 2)
+            .add(1, 0, 3)
+            .add(0, 1, 1)
+            .add(1, 2, 4)
+            .build()
+            .datastore();
+    assertThat(datastore.order(), is(3));
+    assertThat(datastore.size(), is(4L));
+    assertEquals("Vertex pointers", datastore.pointers, 0L, 1L, 3L, 4L);
+    assertEquals("Edges", datastore.edges, 1, 0, 2, 1);
+    assertEquals("Weights", datastore.weights, 6, 6, 4, 4);
+  }
+
+  @Test
+  public void matchesSparseGraphBuilder() {
+    Random random = new Random(1337L);
+    SparseGraphBuilder reference = new SparseGraphBuilder(200000);
+    PreAggregatingGraphBuilder builder = new PreAggregatingGraphBuilder(200000, 64);
+    for (int i = 0; i < 100000; i++) {
+      int u = random.nextInt(100);
+      int v = random.nextInt(100);
+      int weight = random.nextInt(10);
+      reference.add(u, v, weight);
+      builder.add(u, v, weight);
+    }
+    CSRDatastore expected = reference.buildDatastore();
+    CSRDatastore datastore = builder.build().datastore();
+    assertThat(datastore.size(), is(expected.size()));
+    assertThat(datastore.pointers, is(expected.pointers));
+    for (long i = 0; i < expected.size(); i++) {
+      assertThat(datastore.edges.get(i), is(expected.edges.get(i)));
+      assertThat(datastore.weights.get(i), is(expected.weights.get(i)));
+    }
+  }
+
+  @Test
+  public void negativeWeights() {
+    PreAggregatingGraphBuilder builder = new PreAggregatingGraphBuilder(16, 16);
+    assertThrows(GraphConstructionException.class, () -> builder.add(0, 1, -1));
+  }
+
+}
@@ -188,4 +188,42 @@ public class SparseGraphBuilderTest {
     });
   }
 
-}
\ No newline at end of file
+  @Test
+  public void presized() {
+    for (long expectedSize : new long[]{0L, 1L, 3L, 1000L}) {
+      CSRDatastore datastore = builder(expectedSize)
+              .add(1, 3, 11)
+              .add(1, 2, 7)
+              .add(0, 6, 2)
+              .add(0, 5, 3)
+              .add(0, 4, 5)
+              .buildDatastore();
+      assertGraphSizeMatches(datastore, 7);
+      assertPointersMatch(datastore, 0L, 3L, 5L, 6L, 7L, 8L, 9L, 10L);
+      assertEdgesMatch(datastore, 4, 5, 6, 2, 3, 1, 1, 0, 0, 0);
+    }
+  }
+
+  @Test
+  public void symmetricBuilderStoresLowerTriangle() {
+    CSRDatastore datastore = SparseGraph.symmetricBuilder()
+            .add(0, 2, 3)
+            .add(2, 1, 5)
+            .add(1, 1, 7)
+            .add(1, 2, 11)
+            .buildDatastore();
+    assertThat(datastore.symmetric(), is(true));
+    assertGraphSizeMatches(datastore, 3);
+    assertEdgeCountMatches(datastore, 3L);
+    assertEquals("Vertex pointers", datastore.pointers, 0L, 0L, 1L, 3L);
+    assertEquals("Edges", datastore.edges, 1, 0, 1);
+    assertWeightsMatch(datastore, 7, 3, 16);
+  }
+
+  @Test
+  public void symmetricBuilderRejectsDirectedEdges() {
+    SparseGraphBuilder builder = SparseGraph.symmetricBuilder();
+    assertThrows(GraphConstructionException.class, () -> builder.addDirected(0, 1, 1));
+  }
+
+}
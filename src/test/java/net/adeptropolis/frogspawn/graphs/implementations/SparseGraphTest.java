@@ -12,11 +12,17 @@ import net.adeptropolis.frogspawn.graphs.Edge;
 import net.adeptropolis.frogspawn.graphs.Graph;
 import net.adeptropolis.frogspawn.graphs.GraphTestBase;
 import net.adeptropolis.frogspawn.graphs.VertexIterator;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.BigFloats;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.CompressedInts;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.QuantizedDoubles;
+import net.adeptropolis.frogspawn.graphs.implementations.arrays.UnitDoubles;
 import net.adeptropolis.frogspawn.graphs.traversal.TraversalMode;
 import org.junit.Test;
 
+import java.io.*;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 import static net.adeptropolis.frogspawn.graphs.implementations.SparseGraph.builder;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -139,4 +145,217 @@ public class SparseGraphTest extends GraphTestBase {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void offHeapTraversal() {
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 50)).offHeap();
+    assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(1000, 50)));
+  }
+
+  @Test
+  public void memoryMappedTraversal() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 50)).memoryMapped(file);
+    assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(1000, 50)));
+    assertThat(traverseFingerprint(BinaryGraphFormat.read(file)), is(bandedGraphFingerprint(1000, 50)));
+  }
+
+  @Test
+  public void memoryMappedKeepsStorage() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 50)).compressed().withWeightStorage(WeightStorage.FLOAT);
+    for (SparseGraph mapped : new SparseGraph[]{graph.memoryMapped(file), BinaryGraphFormat.read(file)}) {
+      assertThat(mapped.datastore().edges, instanceOf(CompressedInts.class));
+      assertThat(mapped.datastore().weights, instanceOf(BigFloats.class));
+      assertThat(traverseFingerprint(mapped), is(bandedGraphFingerprint(1000, 50)));
+    }
+    SparseGraph quantized = ((SparseGraph) bandedGraph(100, 10)).withWeightStorage(WeightStorage.QUANTIZED);
+    SparseGraph mapped = quantized.memoryMapped(file);
+    assertThat(mapped.datastore().weights, instanceOf(QuantizedDoubles.class));
+    for (long i = 0; i < quantized.size(); i++) {
+      assertThat(mapped.datastore().weights.get(i), closeTo(quantized.datastore().weights.get(i), 1e-9));
+    }
+    SparseGraph unit = ((SparseGraph) bandedGraph(100, 10)).withWeightStorage(WeightStorage.UNIT).memoryMapped(file);
+    assertThat(unit.datastore().weights, instanceOf(UnitDoubles.class));
+  }
+
+  @Test
+  public void offHeapSubgraph() {
+    Graph subgraph = defaultGraph.offHeap().subgraph(IntIterators.wrap(new int[]{4, 9, 11}));
+    subgraph.traverse(consumer);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(0, 1, 5),
+            Edge.of(1, 0, 5),
+            Edge.of(0, 2, 11),
+            Edge.of(2, 0, 11)));
+  }
+
+  @Test
+  public void compressedTraversal() {
+    SparseGraph graph = ((SparseGraph) bandedGraph(1000, 50)).compressed();
+    assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(1000, 50)));
+  }
+
+  @Test
+  public void compressedSubgraph() {
+    int[] vertices = new int[]{1, 2, 3, 5, 8, 13, 21, 34, 55, 89, 144, 150, 151, 152, 153, 154, 155, 156};
+    Graph subgraph = subgraph(((SparseGraph) bandedGraph(300, 40)).compressed(), vertices);
+    Graph reference = subgraph(bandedGraph(300, 40), vertices);
+    assertThat(traverseFingerprint(subgraph), is(traverseFingerprint(reference)));
+  }
+
+  @Test
+  public void compressedSymmetricIncidentEdges() {
+    Graph graph = ((SparseGraph) symmetricBandedGraph(200, 10)).compressed();
+    Graph reference = bandedGraph(200, 10);
+    for (int v = 0; v < graph.order(); v++) {
+      CollectingEdgeConsumer expected = new CollectingEdgeConsumer();
+      CollectingEdgeConsumer actual = new CollectingEdgeConsumer();
+      reference.traverseIncidentEdges(v, expected, TraversalMode.DEFAULT);
+      graph.traverseIncidentEdges(v, actual, TraversalMode.DEFAULT);
+      assertThat(actual.getEdges(), is(expected.getEdges()));
+    }
+  }
+
+  @Test
+  public void weightStorage() {
+    SparseGraph graph = SparseGraph.builder()
+            .add(0, 1, 0.1)
+            .add(1, 2, 1000)
+            .build();
+    assertThat(traverseFingerprint(graph.withWeightStorage(WeightStorage.DOUBLE)), is(traverseFingerprint(graph)));
+    graph.withWeightStorage(WeightStorage.FLOAT).traverse(consumer);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(0, 1, (float) 0.1),
+            Edge.of(1, 0, (float) 0.1),
+            Edge.of(1, 2, 1000),
+            Edge.of(2, 1, 1000)));
+    CollectingEdgeConsumer unitConsumer = new CollectingEdgeConsumer();
+    graph.withWeightStorage(WeightStorage.UNIT).traverse(unitConsumer);
+    assertThat(unitConsumer.getEdges(), containsInAnyOrder(
+            Edge.of(0, 1, 1),
+            Edge.of(1, 0, 1),
+            Edge.of(1, 2, 1),
+            Edge.of(2, 1, 1)));
+  }
+
+  @Test
+  public void quantizedWeightTraversal() {
+    SparseGraph graph = ((SparseGraph) bandedGraph(100, 10)).withWeightStorage(WeightStorage.QUANTIZED);
+    long[] count = new long[1];
+    graph.traverse((u, v, weight) -> {
+      assertThat(weight, closeTo(2 * Math.min(u, v) + 3 * Math.max(u, v), 0.01));
+      count[0]++;
+    });
+    assertThat(count[0], is(bandedGraph(100, 10).size()));
+  }
+
+  @Test
+  public void symmetricSize() {
+    SparseGraph graph = SparseGraph.symmetricBuilder()
+            .add(0, 1, 2)
+            .add(1, 1, 3)
+            .add(4, 2, 5)
+            .build();
+    assertThat(graph.symmetricStorage(), is(true));
+    assertThat(graph.datastore().size(), is(3L));
+    assertThat(graph.size(), is(5L));
+  }
+
+  @Test
+  public void symmetricTraversal() {
+    SparseGraph graph = SparseGraph.symmetricBuilder()
+            .add(0, 1, 2)
+            .add(1, 3, 3)
+            .add(3, 3, 7)
+            .add(6, 4, 5)
+            .build();
+    graph.traverse(consumer);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(0, 1, 2),
+            Edge.of(1, 0, 2),
+            Edge.of(1, 3, 3),
+            Edge.of(3, 1, 3),
+            Edge.of(3, 3, 7),
+            Edge.of(6, 4, 5),
+            Edge.of(4, 6, 5)));
+  }
+
+  @Test
+  public void symmetricParallelTraversal() {
+    Graph graph = symmetricBandedGraph(1000, 50);
+    assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(1000, 50)));
+    assertThat(graph.size(), is(bandedGraph(1000, 50).size()));
+  }
+
+  @Test
+  public void symmetricIncidentEdges() {
+    Graph graph = symmetricBandedGraph(200, 10);
+    Graph reference = bandedGraph(200, 10);
+    for (int v = 0; v < graph.order(); v++) {
+      CollectingEdgeConsumer expected = new CollectingEdgeConsumer();
+      CollectingEdgeConsumer actual = new CollectingEdgeConsumer();
+      reference.traverseIncidentEdges(v, expected, TraversalMode.DEFAULT);
+      graph.traverseIncidentEdges(v, actual, TraversalMode.DEFAULT);
+      assertThat(actual.getEdges(), is(expected.getEdges()));
+    }
+  }
+
+  @Test
+  public void symmetricLowerTriangularTraversal() {
+    SparseGraph graph = SparseGraph.symmetricBuilder()
+            .add(0, 1, 2)
+            .add(1, 3, 3)
+            .add(3, 3, 7)
+            .build();
+    graph.traverse(consumer, TraversalMode.LOWER_TRIANGULAR);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(1, 0, 2),
+            Edge.of(3, 1, 3),
+            Edge.of(3, 3, 7)));
+  }
+
+  @Test
+  public void symmetricSubgraphTraversal() {
+    int[] vertices = new int[]{1, 2, 3, 5, 8, 13, 21, 34, 55, 89, 144, 150, 151, 152, 153, 154, 155, 156};
+    Graph subgraph = subgraph(symmetricBandedGraph(300, 40), vertices);
+    Graph reference = subgraph(bandedGraph(300, 40), vertices);
+    CollectingEdgeConsumer expected = new CollectingEdgeConsumer();
+    reference.traverse(expected);
+    subgraph.traverse(consumer);
+    assertThat(consumer.getEdges(), containsInAnyOrder(expected.getEdges().toArray()));
+    assertThat(subgraph.size(), is(reference.size()));
+  }
+
+  @Test
+  public void symmetricMemoryMapped() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    SparseGraph graph = ((SparseGraph) symmetricBandedGraph(1000, 50)).memoryMapped(file);
+    assertThat(graph.symmetricStorage(), is(true));
+    assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(1000, 50)));
+    assertThat(traverseFingerprint(BinaryGraphFormat.read(file)), is(bandedGraphFingerprint(1000, 50)));
+  }
+
+  @Test
+  public void sizeSurvivesSerialization() throws IOException, ClassNotFoundException {
+    SparseGraph graph = builder().add(0, 1, 2).add(1, 2, 3).add(2, 2, 1).build();
+    assertThat(roundTrip(graph).size(), is(5L));
+    assertThat(graph.size(), is(5L));
+    assertThat(roundTrip(graph).size(), is(5L));
+    SparseGraph symmetric = (SparseGraph) symmetricBandedGraph(100, 5);
+    assertThat(roundTrip(symmetric).size(), is(bandedGraph(100, 5).size()));
+  }
+
+  private static SparseGraph roundTrip(SparseGraph graph) throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(graph);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (SparseGraph) in.readObject();
+    }
+  }
+
+}
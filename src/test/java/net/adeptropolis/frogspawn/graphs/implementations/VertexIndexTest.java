@@ -0,0 +1,85 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations;
+
+import it.unimi.dsi.fastutil.ints.IntIterators;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class VertexIndexTest {
+
+  private static void verify(int[] vertices, int maxId) {
+    VertexIndex index = new VertexIndex(vertices);
+    for (int id = 0; id <= maxId; id++) {
+      int expected = Arrays.binarySearch(vertices, id);
+      assertThat(index.localId(id), is(expected >= 0 ? expected : -1));
+    }
+  }
+
+  @Test
+  public void singleVertex() {
+    verify(new int[]{17}, 100);
+  }
+
+  @Test
+  public void denseVertices() {
+    verify(IntStream.range(5, 5000).toArray(), 6000);
+  }
+
+  @Test
+  public void sparseVertices() {
+    verify(IntStream.range(0, 2000).map(i -> 97 * i + 3).toArray(), 200000);
+  }
+
+  @Test
+  public void skewedVertices() {
+    int[] vertices = IntStream.concat(IntStream.range(0, 3000), IntStream.of(1_000_000, 5_000_000)).toArray();
+    verify(vertices, 10_000);
+    VertexIndex index = new VertexIndex(vertices);
+    assertThat(index.localId(1_000_000), is(3000));
+    assertThat(index.localId(5_000_000), is(3001));
+    assertThat(index.localId(4_999_999), is(-1));
+    assertThat(index.localId(Integer.MAX_VALUE), is(-1));
+  }
+
+  @Test
+  public void extremeIds() {
+    VertexIndex index = new VertexIndex(new int[]{0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE});
+    assertThat(index.localId(Integer.MAX_VALUE), is(3));
+    assertThat(index.localId(Integer.MAX_VALUE - 1), is(2));
+    assertThat(index.localId(1), is(1));
+    assertThat(index.localId(2), is(-1));
+  }
+
+  @Test
+  public void randomVertices() {
+    Random random = new Random(1337);
+    int[] vertices = random.ints(5000, 0, 100000).distinct().sorted().toArray();
+    verify(vertices, 100000);
+  }
+
+  @Test
+  public void largeSubgraphLookups() {
+    SparseGraphBuilder builder = new SparseGraphBuilder();
+    for (int i = 0; i < 20000; i++) {
+      builder.add(i, i + 1, 1);
+    }
+    SparseGraph graph = builder.build();
+    int[] vertices = IntStream.range(0, 20000).filter(i -> i % 7 != 3).toArray();
+    SparseSubgraph subgraph = (SparseSubgraph) graph.subgraph(IntIterators.wrap(vertices.clone()));
+    for (int id = 0; id < 20000; id++) {
+      int expected = Arrays.binarySearch(vertices, id);
+      assertThat(subgraph.localVertexId(id), is(expected >= 0 ? expected : -1));
+    }
+  }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+public class BigFloatsTest {
+
+  @Test
+  public void copy() {
+    BigFloats floats = BigFloats.copyOf(BigDoubles.of(3, 1.5, 4, 0.25, 5));
+    Helpers.assertEquals("Copy", floats, 3, 1.5, 4, 0.25, 5);
+  }
+
+  @Test
+  public void multipleBins() {
+    BigDoubles doubles = new BigDoubles(300000);
+    for (long i = 0; i < 300000; i++) doubles.set(i, i / 7.0);
+    BigFloats floats = BigFloats.copyOf(doubles);
+    assertThat(floats.size(), is(300000L));
+    for (long i = 0; i < 300000; i++) assertThat(floats.get(i), closeTo(i / 7.0, 1E-6 * i));
+  }
+
+}
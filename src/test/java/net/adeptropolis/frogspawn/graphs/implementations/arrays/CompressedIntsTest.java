@@ -0,0 +1,91 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class CompressedIntsTest {
+
+  @Test
+  public void emptyArray() {
+    CompressedInts ints = CompressedInts.copyOf(new BigInts(0));
+    assertThat(ints.size(), is(0L));
+    assertThat(ints.iterator(0, 0).hasNext(), is(false));
+  }
+
+  @Test
+  public void randomAccess() {
+    BigInts source = randomRuns(10000);
+    CompressedInts ints = CompressedInts.copyOf(source);
+    assertThat(ints.size(), is(source.size()));
+    for (long i = 0; i < source.size(); i++) {
+      assertThat(ints.get(i), is(source.get(i)));
+    }
+  }
+
+  @Test
+  public void sequentialAccess() {
+    BigInts source = randomRuns(10000);
+    CompressedInts ints = CompressedInts.copyOf(source);
+    for (long from : new long[]{0, 1, 63, 64, 65, 4711}) {
+      IntIterator it = ints.iterator(from, source.size());
+      for (long i = from; i < source.size(); i++) {
+        assertThat(it.nextInt(), is(source.get(i)));
+      }
+      assertThat(it.hasNext(), is(false));
+    }
+  }
+
+  @Test
+  public void extremeValues() {
+    BigInts source = BigInts.of(0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 1, Integer.MAX_VALUE - 1);
+    Helpers.assertEquals("Extremes", CompressedInts.copyOf(source), 0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 1, Integer.MAX_VALUE - 1);
+  }
+
+  @Test
+  public void spanningMultipleBins() {
+    long size = 1L << CompressedInts.BIN_BITS;
+    BigInts source = new BigInts(size);
+    for (long i = 0; i < size; i++) {
+      source.set(i, (int) (i * 97));
+    }
+    CompressedInts ints = CompressedInts.copyOf(source);
+    assertThat(ints.encodedBytes(), greaterThan(1L << CompressedInts.BIN_BITS));
+    IntIterator it = ints.iterator(0, size);
+    long mismatches = 0;
+    for (long i = 0; i < size; i++) {
+      if (it.nextInt() != (int) (i * 97)) mismatches++;
+    }
+    assertThat(mismatches, is(0L));
+    assertThat(ints.get(size - 1), is((int) ((size - 1) * 97)));
+  }
+
+  @Test
+  public void compressesSortedRuns() {
+    BigInts source = randomRuns(100000);
+    assertThat(CompressedInts.copyOf(source).encodedBytes(), lessThan(2 * source.size()));
+  }
+
+  private static BigInts randomRuns(int size) {
+    Random random = new Random(1337);
+    BigInts ints = new BigInts(size);
+    int value = 0;
+    for (int i = 0; i < size; i++) {
+      value = (random.nextInt(20) == 0) ? random.nextInt(1000) : value + random.nextInt(50);
+      ints.set(i, value);
+    }
+    return ints;
+  }
+
+}
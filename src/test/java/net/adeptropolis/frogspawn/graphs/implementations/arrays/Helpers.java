@@ -18,14 +18,14 @@ public class Helpers {
     }
   }
 
-  public static void assertEquals(String name, BigInts array, int... expected) {
+  public static void assertEquals(String name, BigIntArray array, int... expected) {
     assertThat(String.format("%s length mismatch", name), array.size(), is((long) expected.length));
     for (int i = 0; i < array.size(); i++) {
       assertThat("Content mismatch", array.get(i), is(expected[i]));
     }
   }
 
-  public static void assertEquals(String name, BigDoubles array, double... expected) {
+  public static void assertEquals(String name, BigDoubleArray array, double... expected) {
     assertThat(String.format("%s length mismatch", name), array.size(), is((long) expected.length));
     for (int i = 0; i < array.size(); i++) {
       assertThat("Content mismatch", array.get(i), closeTo(expected[i], 1E-9));
@@ -0,0 +1,50 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class OffHeapDoublesTest {
+
+  @Test
+  public void basicFunctions() {
+    OffHeapDoubles doubles = OffHeapDoubles.allocate(1000);
+    assertThat(doubles.size(), is(1000L));
+    for (long i = 0; i < 1000; i++) doubles.set(i, 3.14 * i);
+    for (long i = 0; i < 1000; i++) assertThat(doubles.get(i), is(3.14 * i));
+  }
+
+  @Test
+  public void copy() {
+    OffHeapDoubles doubles = OffHeapDoubles.copyOf(BigDoubles.of(3.1, 1.4, 1.5, 9.2, 6.5));
+    Helpers.assertEquals("Copy", doubles, 3.1, 1.4, 1.5, 9.2, 6.5);
+  }
+
+  @Test
+  public void memoryMapped() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      OffHeapDoubles doubles = OffHeapDoubles.map(channel, 8, 5, FileChannel.MapMode.READ_WRITE);
+      doubles.copyFrom(BigDoubles.of(2.7, 1.8, 2.8, 1.8, 2.8));
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      assertThat(channel.size(), is(48L));
+      OffHeapDoubles doubles = OffHeapDoubles.map(channel, 8, 5, FileChannel.MapMode.READ_ONLY);
+      Helpers.assertEquals("Mapped", doubles, 2.7, 1.8, 2.8, 1.8, 2.8);
+    }
+  }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class OffHeapIntsTest {
+
+  @Test
+  public void basicFunctions() {
+    OffHeapInts ints = OffHeapInts.allocate(1000);
+    assertThat(ints.size(), is(1000L));
+    for (long i = 0; i < 1000; i++) ints.set(i, (int) (3 * i));
+    for (long i = 0; i < 1000; i++) assertThat(ints.get(i), is((int) (3 * i)));
+  }
+
+  @Test
+  public void copy() {
+    OffHeapInts ints = OffHeapInts.copyOf(BigInts.of(3, 1, 4, 1, 5));
+    Helpers.assertEquals("Copy", ints, 3, 1, 4, 1, 5);
+  }
+
+  @Test
+  public void memoryMapped() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      OffHeapInts ints = OffHeapInts.map(channel, 8, 5, FileChannel.MapMode.READ_WRITE);
+      ints.copyFrom(BigInts.of(2, 7, 1, 8, 2));
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      assertThat(channel.size(), is(28L));
+      OffHeapInts ints = OffHeapInts.map(channel, 8, 5, FileChannel.MapMode.READ_ONLY);
+      Helpers.assertEquals("Mapped", ints, 2, 7, 1, 8, 2);
+    }
+  }
+
+}
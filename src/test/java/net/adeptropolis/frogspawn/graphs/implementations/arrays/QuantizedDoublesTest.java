@@ -0,0 +1,52 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.implementations.arrays;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class QuantizedDoublesTest {
+
+  @Test
+  public void boundedError() {
+    BigDoubles doubles = new BigDoubles(200001);
+    for (long i = 0; i < 200000; i++) doubles.set(i, (i * 31) % 1000);
+    doubles.set(200000, 0.001);
+    QuantizedDoubles quantized = QuantizedDoubles.copyOf(doubles);
+    assertThat(quantized.size(), is(200001L));
+    assertThat(quantized.get(0), is(0.0));
+    for (long i = 0; i < 200000; i++) {
+      assertThat(quantized.get(i), closeTo(doubles.get(i), quantized.scale() / 2 + 1E-12));
+    }
+    assertThat(doubles.get(200000), lessThan(quantized.scale() / 2));
+    assertThat(quantized.get(200000), is(quantized.scale()));
+    assertThat(quantized.get(200000), closeTo(doubles.get(200000), quantized.scale()));
+  }
+
+  @Test
+  public void retainsTinyValues() {
+    QuantizedDoubles quantized = QuantizedDoubles.copyOf(BigDoubles.of(1E6, 1E-6, 0));
+    assertThat(quantized.get(0), closeTo(1E6, 1E-6));
+    assertThat(quantized.get(1), greaterThan(0.0));
+    assertThat(quantized.get(2), is(0.0));
+  }
+
+  @Test
+  public void allZeros() {
+    Helpers.assertEquals("Zeros", QuantizedDoubles.copyOf(BigDoubles.of(0, 0)), 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeValues() {
+    QuantizedDoubles.copyOf(BigDoubles.of(1, -1));
+  }
+
+}
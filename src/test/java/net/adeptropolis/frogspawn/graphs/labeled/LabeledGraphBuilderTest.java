@@ -13,6 +13,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -53,4 +54,24 @@ public class LabeledGraphBuilderTest extends GraphTestBase {
 
   }
 
-}
\ No newline at end of file
+  @Test
+  public void concurrentAdd() {
+    LabeledGraphBuilder<String> builder = new LabeledGraphBuilder<>(new DefaultLabeling<>(String.class));
+    IntStream.range(0, 10000).parallel().forEach(i -> builder.add(String.valueOf(i % 100), String.valueOf((i + 1) % 100), 1));
+    LabeledGraph<String> graph = builder.build();
+    assertThat(graph.order(), is(100));
+    assertThat(graph.size(), is(200L));
+    graph.traverse((left, right, weight) -> assertThat(weight, is(100.0)));
+  }
+
+  @Test
+  public void concurrentBuilder() {
+    LabeledGraphBuilder<String> builder = LabeledGraphBuilder.concurrent(new DefaultLabeling<>(String.class));
+    IntStream.range(0, 10000).parallel().forEach(i -> builder.add(String.valueOf(i % 100), String.valueOf((i + 1) % 100), 1));
+    LabeledGraph<String> graph = builder.build();
+    assertThat(graph.order(), is(100));
+    assertThat(graph.size(), is(200L));
+    graph.traverse((left, right, weight) -> assertThat(weight, is(100.0)));
+  }
+
+}
@@ -14,6 +14,9 @@ import net.adeptropolis.frogspawn.graphs.labeled.labelings.Labeling;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -127,4 +130,27 @@ public class LabeledGraphTest extends LabeledGraphTestBase {
     assertThat(graph.getLabeling().labels().collect(Collectors.toList()), containsInAnyOrder("1", "2", "3"));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void saveAndLoad() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    graph.save(file);
+    LabeledGraph<String> loaded = LabeledGraph.load(file);
+    EdgeFingerprinter edges = new EdgeFingerprinter();
+    loaded.traverse(edges);
+    assertThat(edges.fingerprint(), is("a#b#1|a#c#2|b#a#1|c#a#2|c#d#3|d#c#3|d#e#4|d#f#5|d#g#6|e#d#4|f#d#5|g#d#6"));
+  }
+
+  @Test
+  public void saveAndLoadSubgraph() throws IOException {
+    File file = File.createTempFile(UUID.randomUUID().toString(), null);
+    file.deleteOnExit();
+    graph.subgraph(Stream.of("c", "d", "e")).save(file);
+    LabeledGraph<String> loaded = LabeledGraph.load(file);
+    EdgeFingerprinter edges = new EdgeFingerprinter();
+    loaded.traverse(edges);
+    assertThat(loaded.order(), is(3));
+    assertThat(edges.fingerprint(), is("d#c#3|d#e#4|c#d#3|e#d#4"));
+  }
+
+}
@@ -7,6 +7,7 @@ package net.adeptropolis.frogspawn.graphs.matrices;
 
 import it.unimi.dsi.fastutil.ints.IntIterators;
 import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
 import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
 import org.junit.Test;
 
@@ -56,5 +57,52 @@ public class AdjacencyMatrixTest {
     assertThat(r2[2], closeTo(1965, 1E-6));
   }
 
+  @Test
+  public void symmetricStorage() {
+    Graph graph = SparseGraph.symmetricBuilder()
+            .add(0, 0, 2)
+            .add(0, 1, 3)
+            .add(0, 2, 5)
+            .add(1, 1, 7)
+            .add(1, 2, 11)
+            .add(2, 2, 13)
+            .build();
+    double[] y = new AdjacencyMatrix(graph).multiply(new double[]{17, 19, 23});
+    assertThat(y[0], is(206.0));
+    assertThat(y[1], is(437.0));
+    assertThat(y[2], is(593.0));
+  }
+
+  @Test
+  public void largeGraphs() {
+    SparseGraphBuilder builder = SparseGraph.builder();
+    for (int i = 0; i < 3000; i++) {
+      for (int j = i + 1; j < Math.min(i + 30, 3000); j++) {
+        builder.add(i, j, (i * 7 + j) % 11 + 1);
+      }
+      builder.add(0, i, 0.5);
+    }
+    SparseGraph graph = builder.build();
+    verifyAgainstTraversal(graph);
+    verifyAgainstTraversal(graph.compressed());
+    verifyAgainstTraversal(graph.subgraph(v -> v % 3 != 0));
+    verifyAgainstTraversal(graph.subgraph(v -> v < 20 || v % 100 == 0));
+  }
+
+  private static void verifyAgainstTraversal(Graph graph) {
+    double[] argument = new double[graph.order()];
+    for (int i = 0; i < argument.length; i++) {
+      argument[i] = Math.sin(i);
+    }
+    double[] expected = new double[graph.order()];
+    graph.traverse((u, v, weight) -> expected[u] += weight * argument[v]);
+    AdjacencyMatrix op = new AdjacencyMatrix(graph);
+    for (int round = 0; round < 2; round++) {
+      double[] y = op.multiply(argument);
+      for (int i = 0; i < expected.length; i++) {
+        assertThat(y[i], closeTo(expected[i], 1E-9));
+      }
+    }
+  }
 
-}
\ No newline at end of file
+}
@@ -27,6 +27,14 @@ public class ShiftedNormalizedLaplacianTest extends GraphTestBase {
     }
   }
 
+  @Test
+  public void invSqrtWeights() {
+    double[] invSqrtWeights = ShiftedNormalizedLaplacian.computeInvSqrtWeights(EIGEN_REF_GRAPH);
+    for (int i = 0; i < EIGEN_REF_GRAPH.order(); i++) {
+      assertThat(invSqrtWeights[i], closeTo(1.0 / Math.sqrt(EIGEN_REF_GRAPH.weights()[i]), 1E-9));
+    }
+  }
+
   @Test
   public void someMatrix() {
     double[] expected = new double[]{
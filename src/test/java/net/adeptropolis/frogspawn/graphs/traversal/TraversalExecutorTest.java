@@ -0,0 +1,153 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+import net.adeptropolis.frogspawn.ClusteringSettings;
+import net.adeptropolis.frogspawn.clustering.RecursiveClustering;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+public class TraversalExecutorTest extends GraphTestBase {
+
+  @Test
+  public void defaultsToSharedExecutor() {
+    assertThat(TraversalExecutor.current(), is(TraversalExecutor.shared()));
+    assertThat(ParallelEdgeOps.slices(), is(ParallelOps.THREAD_POOL_SIZE));
+  }
+
+  @Test
+  public void bindsToCallingThread() {
+    TraversalExecutor executor = TraversalExecutor.withParallelism(3);
+    int slices = executor.call(ParallelEdgeOps::slices);
+    assertThat(slices, is(3));
+    assertThat(TraversalExecutor.current(), is(TraversalExecutor.shared()));
+  }
+
+  @Test
+  public void nestedExecutors() {
+    TraversalExecutor outer = TraversalExecutor.withParallelism(2);
+    TraversalExecutor inner = TraversalExecutor.withParallelism(5);
+    outer.run(() -> {
+      inner.run(() -> assertThat(TraversalExecutor.current(), is(inner)));
+      assertThat(TraversalExecutor.current(), is(outer));
+    });
+  }
+
+  @Test
+  public void isolatedPool() {
+    AtomicInteger threadId = new AtomicInteger();
+    ExecutorService service = Executors.newFixedThreadPool(3, runnable -> {
+      Thread thread = new Thread(runnable, "isolated-" + threadId.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    TraversalExecutor executor = TraversalExecutor.of(service, 3);
+    Graph graph = bandedGraph(5000, 20);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    Set<Integer> slices = ConcurrentHashMap.newKeySet();
+    executor.run(() -> {
+      graph.traverseParallel((u, v, weight) -> {
+        threadNames.add(Thread.currentThread().getName());
+        slices.add(ParallelEdgeOps.slice(graph, u));
+      });
+      graph.traverseVerticesParallel(v -> threadNames.add(Thread.currentThread().getName()));
+      graph.traverseParallel((u, v, weight) -> threadNames.add(Thread.currentThread().getName()),
+              TraversalMode.DEFAULT, TraversalStrategy.WORK_STEALING);
+      assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(5000, 20)));
+    });
+    assertThat(threadNames, is(not(empty())));
+    assertThat(threadNames.stream().allMatch(name -> name.startsWith("isolated-")), is(true));
+    assertThat(slices, containsInAnyOrder(0, 1, 2));
+    service.shutdown();
+  }
+
+  @Test
+  public void sequentialExecutorRunsInCallingThread() {
+    Graph graph = bandedGraph(5000, 20);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    TraversalExecutor.sequential().run(() -> {
+      assertThat(ParallelEdgeOps.slices(), is(1));
+      graph.traverseParallel((u, v, weight) -> threadNames.add(Thread.currentThread().getName()));
+      graph.traverseVerticesParallel(v -> threadNames.add(Thread.currentThread().getName()));
+      graph.traverseParallel((u, v, weight) -> threadNames.add(Thread.currentThread().getName()),
+              TraversalMode.DEFAULT, TraversalStrategy.WORK_STEALING);
+      assertThat(traverseFingerprint(graph), is(bandedGraphFingerprint(5000, 20)));
+    });
+    assertThat(threadNames, contains(Thread.currentThread().getName()));
+  }
+
+  @Test(timeout = 60000)
+  public void consumerFailuresArePropagated() {
+    Graph graph = bandedGraph(5000, 20);
+    for (TraversalExecutor executor : new TraversalExecutor[]{TraversalExecutor.sequential(), TraversalExecutor.withParallelism(3)}) {
+      executor.run(() -> {
+        assertFailurePropagates(() -> graph.traverseParallel((u, v, weight) -> failAt(u)));
+        assertFailurePropagates(() -> graph.traverseVerticesParallel(TraversalExecutorTest::failAt));
+        assertFailurePropagates(() -> graph.traverseParallel((u, v, weight) -> failAt(u),
+                TraversalMode.DEFAULT, TraversalStrategy.WORK_STEALING));
+      });
+    }
+  }
+
+  @Test
+  public void parallelRecursionStaysOnConfiguredExecutor() {
+    Random random = new Random(1337L);
+    SparseGraphBuilder builder = SparseGraph.builder();
+    for (int i = 0; i < 20000; i++) {
+      int block = 300 * random.nextInt(4);
+      builder.add(block + random.nextInt(300), block + random.nextInt(300), 1);
+    }
+    SparseGraph graph = builder.build();
+    ThreadPoolExecutor pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(3);
+    try {
+      ClusteringSettings settings = ClusteringSettings.builder()
+              .minClusterSize(50)
+              .minAffiliation(0.1)
+              .parallelRecursion(true)
+              .minParallelTraversalSize(0)
+              .traversalExecutor(TraversalExecutor.of(pool, 3))
+              .build();
+      long sharedTasks = ParallelOps.EXECUTOR.getTaskCount();
+      RecursiveClustering.run(graph, settings);
+      assertThat(ParallelOps.EXECUTOR.getTaskCount(), is(sharedTasks));
+      assertThat(pool.getTaskCount(), greaterThan(0L));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void failAt(int v) {
+    if (v == 4321) {
+      throw new IllegalStateException("Consumer failure");
+    }
+  }
+
+  private static void assertFailurePropagates(Runnable traversal) {
+    IllegalStateException e = assertThrows(IllegalStateException.class, traversal::run);
+    assertThat(e.getMessage(), is("Consumer failure"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidParallelism() {
+    TraversalExecutor.withParallelism(0);
+  }
+
+}
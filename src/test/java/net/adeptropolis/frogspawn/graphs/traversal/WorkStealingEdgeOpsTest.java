@@ -0,0 +1,129 @@
+/*
+ * Copyright Florian Schaefer 2021.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.adeptropolis.frogspawn.graphs.traversal;
+
+import net.adeptropolis.frogspawn.graphs.Edge;
+import net.adeptropolis.frogspawn.graphs.Graph;
+import net.adeptropolis.frogspawn.graphs.GraphTestBase;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraph;
+import net.adeptropolis.frogspawn.graphs.implementations.SparseGraphBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class WorkStealingEdgeOpsTest extends GraphTestBase {
+
+  @Test
+  public void emptyGraph() {
+    SparseGraph graph = SparseGraph.builder().build();
+    WorkStealingEdgeOps.traverse(graph, consumer, TraversalMode.DEFAULT);
+    assertThat(consumer.getEdges(), is(empty()));
+  }
+
+  @Test
+  public void singleEdgeGraph() {
+    SparseGraph graph = SparseGraph.builder()
+            .add(2, 3, 3.14)
+            .build();
+    WorkStealingEdgeOps.traverse(graph, consumer, TraversalMode.DEFAULT);
+    assertThat(consumer.getEdges(), containsInAnyOrder(
+            Edge.of(2, 3, 3.14),
+            Edge.of(3, 2, 3.14)));
+  }
+
+  @Test
+  public void largeBandedGraph() {
+    assertThat(fingerprint(bandedGraph(20000, 100)), is(bandedGraphFingerprint(20000, 100)));
+  }
+
+  @Test
+  public void symmetricStorage() {
+    assertThat(fingerprint(symmetricBandedGraph(5000, 30)), is(bandedGraphFingerprint(5000, 30)));
+  }
+
+  @Test
+  public void subgraph() {
+    Graph graph = bandedGraph(3000, 40);
+    Graph subgraph = graph.subgraph(v -> v % 3 != 0);
+    assertThat(fingerprint(subgraph), is(traverseFingerprint(subgraph)));
+  }
+
+  @Test
+  public void lowerTriangularTraversal() {
+    Graph graph = completeGraph(150);
+    AtomicInteger edgeCount = new AtomicInteger();
+    graph.traverseParallel((u, v, weight) -> edgeCount.incrementAndGet(), TraversalMode.LOWER_TRIANGULAR, TraversalStrategy.WORK_STEALING);
+    assertThat(edgeCount.get(), is(75 * 149));
+  }
+
+  @Test
+  public void balancedChunks() {
+    SparseGraphBuilder builder = SparseGraph.builder();
+    for (int i = 1; i < 1000; i++) {
+      builder.add(0, i, 1);
+    }
+    for (int i = 1000; i < 2000; i++) {
+      builder.add(i, i + 1, 1);
+    }
+    SparseGraph graph = builder.build();
+    int[] boundaries = WorkStealingEdgeOps.chunkBoundaries(graph, 8);
+    assertThat(boundaries[0], is(0));
+    assertThat(boundaries[1], is(1));
+    assertThat(boundaries[boundaries.length - 1], is(graph.order()));
+    for (int i = 1; i < boundaries.length; i++) {
+      assertThat(boundaries[i], greaterThan(boundaries[i - 1]));
+    }
+    assertThat(boundaries.length, lessThanOrEqualTo(9));
+  }
+
+  @Test
+  public void smallGraphsAreTraversedInCallingThread() {
+    Graph graph = bandedGraph(ParallelOps.PARALLELIZATION_THRESHOLD - 1, 10);
+    Thread caller = Thread.currentThread();
+    AtomicInteger foreignThreadEdges = new AtomicInteger();
+    WorkStealingEdgeOps.traverse(graph, (u, v, weight) -> {
+      if (Thread.currentThread() != caller) {
+        foreignThreadEdges.incrementAndGet();
+      }
+    }, TraversalMode.DEFAULT);
+    assertThat(foreignThreadEdges.get(), is(0));
+    assertThat(WorkStealingEdgeOps.chunkBoundaries(graph), is(new int[]{0, graph.order()}));
+  }
+
+  @Test
+  public void singleTaskExecutorsYieldSingleChunk() {
+    Graph graph = bandedGraph(5000, 20);
+    TraversalExecutor.sequential().run(() ->
+            assertThat(WorkStealingEdgeOps.chunkBoundaries(graph), is(new int[]{0, graph.order()})));
+  }
+
+  @Test
+  public void exclusiveLeftEndpoints() {
+    Graph graph = bandedGraph(10000, 20);
+    long[] threadIds = new long[graph.order()];
+    AtomicLong violations = new AtomicLong();
+    graph.traverseParallel((u, v, weight) -> {
+      long threadId = Thread.currentThread().getId() + 1;
+      if (threadIds[u] == 0) {
+        threadIds[u] = threadId;
+      } else if (threadIds[u] != threadId) {
+        violations.incrementAndGet();
+      }
+    }, TraversalMode.DEFAULT, TraversalStrategy.WORK_STEALING);
+    assertThat(violations.get(), is(0L));
+  }
+
+  private long fingerprint(Graph graph) {
+    FingerprintingEdgeConsumer consumer = new FingerprintingEdgeConsumer();
+    WorkStealingEdgeOps.traverse(graph, consumer, TraversalMode.DEFAULT);
+    return consumer.getFingerprint();
+  }
+
+}
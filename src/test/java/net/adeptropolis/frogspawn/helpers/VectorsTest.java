@@ -46,4 +46,34 @@ public class VectorsTest {
     assertThat(v[2], closeTo(0.84515, 1E-5));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void unrolledReductionsHandleAllLengths() {
+    for (int n = 0; n < 11; n++) {
+      double[] v = new double[n];
+      double[] w = new double[n];
+      double expectedProd = 0;
+      double expectedSquaredNorm = 0;
+      for (int i = 0; i < n; i++) {
+        v[i] = i + 1;
+        w[i] = 2 * i - 3;
+        expectedProd += v[i] * w[i];
+        expectedSquaredNorm += v[i] * v[i];
+      }
+      assertThat(Vectors.scalarProduct(v, w), closeTo(expectedProd, 1E-9));
+      assertThat(Vectors.squaredNorm2(v), closeTo(expectedSquaredNorm, 1E-9));
+      assertThat(Vectors.norm2(v), closeTo(Math.sqrt(expectedSquaredNorm), 1E-9));
+    }
+  }
+
+  @Test
+  public void scale() {
+    double[] v = new double[]{-1, 3, -5, 7, 11};
+    Vectors.scale(v, -0.5);
+    assertThat(v[0], closeTo(0.5, 1E-9));
+    assertThat(v[1], closeTo(-1.5, 1E-9));
+    assertThat(v[2], closeTo(2.5, 1E-9));
+    assertThat(v[3], closeTo(-3.5, 1E-9));
+    assertThat(v[4], closeTo(-5.5, 1E-9));
+  }
+
+}